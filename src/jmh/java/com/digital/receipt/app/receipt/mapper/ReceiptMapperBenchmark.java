@@ -0,0 +1,87 @@
+package com.digital.receipt.app.receipt.mapper;
+
+import java.sql.Date;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.RowSetMetaDataImpl;
+import javax.sql.rowset.RowSetProvider;
+
+import com.digital.receipt.app.receipt.client.domain.Receipt;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks mapping a receipt row with the {@link ReceiptMapper}. The row is
+ * held in an in memory {@link CachedRowSet} so no database is needed.
+ * 
+ * @author Sam Butler
+ * @since October 19, 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReceiptMapperBenchmark {
+    private static final String[] COLUMNS = { "id", "file_public_id", "url", "format", "bytes", "width", "height",
+            "version", "insert_date_utc", "user_id", "location", "label", "notes" };
+
+    private static final int[] TYPES = { Types.INTEGER, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.BIGINT,
+            Types.INTEGER, Types.INTEGER, Types.BIGINT, Types.DATE, Types.INTEGER, Types.VARCHAR, Types.VARCHAR,
+            Types.VARCHAR };
+
+    private CachedRowSet rs;
+
+    @Setup
+    public void setup() throws SQLException {
+        RowSetMetaDataImpl metaData = new RowSetMetaDataImpl();
+        metaData.setColumnCount(COLUMNS.length);
+        for (int i = 0; i < COLUMNS.length; i++) {
+            metaData.setColumnName(i + 1, COLUMNS[i]);
+            metaData.setColumnLabel(i + 1, COLUMNS[i]);
+            metaData.setColumnType(i + 1, TYPES[i]);
+        }
+
+        rs = RowSetProvider.newFactory().createCachedRowSet();
+        rs.setMetaData(metaData);
+        rs.moveToInsertRow();
+        rs.updateInt("id", 12);
+        rs.updateInt("user_id", 4);
+        rs.updateString("file_public_id", "receipt-12-4");
+        rs.updateString("url", "https://res.cloudinary.com/benchmark/image/upload/receipt-12-4");
+        rs.updateString("format", "jpg");
+        rs.updateLong("bytes", 150_000L);
+        rs.updateInt("width", 1080);
+        rs.updateInt("height", 1920);
+        rs.updateLong("version", 1L);
+        rs.updateDate("insert_date_utc", new Date(System.currentTimeMillis()));
+        rs.updateString("location", "Ridge Campus");
+        rs.updateString("label", "Lunch");
+        rs.updateString("notes", "Team lunch");
+        rs.insertRow();
+        rs.moveToCurrentRow();
+    }
+
+    /**
+     * Maps as a row after the first so the one off column check is left out.
+     */
+    @Benchmark
+    public Receipt mapRow() throws SQLException {
+        rs.beforeFirst();
+        rs.next();
+        return ReceiptMapper.RECEIPT_MAPPER.mapRow(rs, 1);
+    }
+}
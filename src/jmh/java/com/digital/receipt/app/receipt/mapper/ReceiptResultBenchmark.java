@@ -0,0 +1,123 @@
+package com.digital.receipt.app.receipt.mapper;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.RowSetMetaDataImpl;
+import javax.sql.rowset.RowSetProvider;
+
+import com.digital.receipt.app.receipt.client.domain.Receipt;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.RowMapperResultSetExtractor;
+
+/**
+ * Benchmarks mapping a 10k row getReceipts result with the index based
+ * {@link ReceiptMapper} against mapping the same result by column name. The
+ * score is rows per second.
+ * 
+ * @author Sam Butler
+ * @since October 19, 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReceiptResultBenchmark {
+    private static final int ROWS = 10_000;
+
+    private static final String[] COLUMNS = { "id", "file_public_id", "url", "format", "bytes", "width", "height",
+            "version", "insert_date_utc", "user_id", "location", "label", "notes" };
+
+    private static final int[] TYPES = { Types.INTEGER, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.BIGINT,
+            Types.INTEGER, Types.INTEGER, Types.BIGINT, Types.DATE, Types.INTEGER, Types.VARCHAR, Types.VARCHAR,
+            Types.VARCHAR };
+
+    private static final RowMapper<Receipt> BY_NAME_MAPPER = (rs, rowNum) -> {
+        Receipt receipt = new Receipt();
+        receipt.setId(rs.getInt("id"));
+        receipt.setUserId(rs.getInt("user_id"));
+        receipt.setFilePublicId(rs.getString("file_public_id"));
+        receipt.setUrl(rs.getString("url"));
+        receipt.setFormat(rs.getString("format"));
+        receipt.setBytes(rs.getObject("bytes", Long.class));
+        receipt.setWidth(rs.getObject("width", Integer.class));
+        receipt.setHeight(rs.getObject("height", Integer.class));
+        receipt.setVersion(rs.getObject("version", Long.class));
+        receipt.setInsertDate(rs.getDate("insert_date_utc"));
+        receipt.setLocation(rs.getString("location"));
+        receipt.setLabel(rs.getString("label"));
+        receipt.setNotes(rs.getString("notes"));
+        return receipt;
+    };
+
+    private CachedRowSet rs;
+
+    @Setup
+    public void setup() throws SQLException {
+        RowSetMetaDataImpl metaData = new RowSetMetaDataImpl();
+        metaData.setColumnCount(COLUMNS.length);
+        for (int i = 0; i < COLUMNS.length; i++) {
+            metaData.setColumnName(i + 1, COLUMNS[i]);
+            metaData.setColumnLabel(i + 1, COLUMNS[i]);
+            metaData.setColumnType(i + 1, TYPES[i]);
+        }
+
+        rs = RowSetProvider.newFactory().createCachedRowSet();
+        rs.setMetaData(metaData);
+        Date insertDate = new Date(System.currentTimeMillis());
+        for (int i = 1; i <= ROWS; i++) {
+            rs.moveToInsertRow();
+            rs.updateInt("id", i);
+            rs.updateString("file_public_id", "receipt-" + i);
+            rs.updateString("url", "https://res.cloudinary.com/benchmark/image/upload/receipt-" + i);
+            rs.updateString("format", "jpg");
+            rs.updateLong("bytes", 150_000L + i);
+            rs.updateInt("width", 1080);
+            rs.updateInt("height", 1920);
+            rs.updateLong("version", 1L);
+            rs.updateDate("insert_date_utc", insertDate);
+            rs.updateInt("user_id", 1 + i % 100);
+            rs.updateString("location", "Ridge Campus");
+            rs.updateString("label", "Lunch");
+            rs.updateString("notes", "Receipt notes " + i);
+            rs.insertRow();
+        }
+        rs.moveToCurrentRow();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<Receipt> byIndex() throws SQLException {
+        return mapAll(ReceiptMapper.RECEIPT_MAPPER);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<Receipt> byName() throws SQLException {
+        return mapAll(BY_NAME_MAPPER);
+    }
+
+    private List<Receipt> mapAll(RowMapper<Receipt> mapper) throws SQLException {
+        rs.beforeFirst();
+        return new RowMapperResultSetExtractor<>(mapper, ROWS).extractData((ResultSet) rs);
+    }
+}
@@ -0,0 +1,79 @@
+package com.digital.receipt.app.user.mapper;
+
+import java.sql.Date;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.RowSetMetaDataImpl;
+import javax.sql.rowset.RowSetProvider;
+
+import com.digital.receipt.app.user.client.domain.User;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks mapping a user row with the {@link UserMapper}. The row is held in
+ * an in memory {@link CachedRowSet} so no database is needed.
+ * 
+ * @author Sam Butler
+ * @since October 19, 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserMapperBenchmark {
+    private static final String[] COLUMNS = { "id", "first_name", "last_name", "email", "web_role_id",
+            "insert_date_utc" };
+
+    private static final int[] TYPES = { Types.INTEGER, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.INTEGER,
+            Types.DATE };
+
+    private CachedRowSet rs;
+
+    @Setup
+    public void setup() throws SQLException {
+        RowSetMetaDataImpl metaData = new RowSetMetaDataImpl();
+        metaData.setColumnCount(COLUMNS.length);
+        for (int i = 0; i < COLUMNS.length; i++) {
+            metaData.setColumnName(i + 1, COLUMNS[i]);
+            metaData.setColumnLabel(i + 1, COLUMNS[i]);
+            metaData.setColumnType(i + 1, TYPES[i]);
+        }
+
+        rs = RowSetProvider.newFactory().createCachedRowSet();
+        rs.setMetaData(metaData);
+        rs.moveToInsertRow();
+        rs.updateInt("id", 4);
+        rs.updateString("first_name", "Test");
+        rs.updateString("last_name", "User");
+        rs.updateString("email", "user@test.com");
+        rs.updateInt("web_role_id", 2);
+        rs.updateDate("insert_date_utc", new Date(System.currentTimeMillis()));
+        rs.insertRow();
+        rs.moveToCurrentRow();
+    }
+
+    /**
+     * Maps as a row after the first so the one off column check is left out.
+     */
+    @Benchmark
+    public User mapRow() throws SQLException {
+        rs.beforeFirst();
+        rs.next();
+        return UserMapper.USER_MAPPER.mapRow(rs, 1);
+    }
+}
@@ -0,0 +1,54 @@
+package com.digital.receipt.common.abstracts;
+
+import java.util.concurrent.TimeUnit;
+
+import com.digital.receipt.sql.domain.SqlFragment;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks loading a fragment out of its sql file with
+ * {@link AbstractSqlDao#getSql(String)}.
+ * 
+ * @author Sam Butler
+ * @since October 19, 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AbstractSqlDaoBenchmark {
+
+    @Param({ "getReceiptById", "getReceipts", "deleteReceiptRecords" })
+    public String fragment;
+
+    private ReceiptDao dao;
+
+    @Setup
+    public void setup() {
+        dao = new ReceiptDao();
+    }
+
+    @Benchmark
+    public SqlFragment getSql() throws Exception {
+        return dao.getSql(fragment);
+    }
+
+    /**
+     * The simple name of the class is used to find the ReceiptDao.sql file.
+     */
+    private static class ReceiptDao extends AbstractSqlDao {
+    }
+}
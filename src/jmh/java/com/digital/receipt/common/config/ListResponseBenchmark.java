@@ -0,0 +1,191 @@
+package com.digital.receipt.common.config;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import com.digital.receipt.app.receipt.client.domain.Receipt;
+import com.digital.receipt.app.user.client.domain.User;
+import com.digital.receipt.common.enums.WebRole;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+/**
+ * Benchmarks writing the getReceipts and getUsers responses through the same
+ * message converter the controllers use, with reflective and generated
+ * accessors and with and without gzip. The bytes counter is the response
+ * bytes written per second.
+ * 
+ * @author Sam Butler
+ * @since October 19, 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ListResponseBenchmark {
+    private static final int ROWS = 500;
+
+    private static final Type RECEIPT_LIST = new ParameterizedTypeReference<List<Receipt>>() {
+    }.getType();
+
+    private static final Type USER_LIST = new ParameterizedTypeReference<List<User>>() {
+    }.getType();
+
+    @Param({ "receipts", "users" })
+    private String resource;
+
+    @Param({ "reflection", "afterburner" })
+    private String accessors;
+
+    @Param({ "false", "true" })
+    private boolean gzip;
+
+    private MappingJackson2HttpMessageConverter converter;
+
+    private List<?> body;
+
+    private Type type;
+
+    private BufferedOutputMessage message;
+
+    /**
+     * Counts the response bytes written.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Written {
+        public long bytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytes = 0;
+        }
+    }
+
+    @Setup
+    public void setup() {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json().serializationInclusion(Include.NON_NULL);
+        if ("afterburner".equals(accessors)) {
+            builder.modulesToInstall(new AfterburnerModule());
+        }
+        converter = new MappingJackson2HttpMessageConverter(builder.build());
+        message = new BufferedOutputMessage();
+
+        if ("receipts".equals(resource)) {
+            body = receipts();
+            type = RECEIPT_LIST;
+        } else {
+            body = users();
+            type = USER_LIST;
+        }
+    }
+
+    @Benchmark
+    public int write(Written written) throws IOException {
+        message.reset(gzip);
+        converter.write(body, type, MediaType.APPLICATION_JSON, message);
+        int size = message.finish();
+        written.bytes += size;
+        return size;
+    }
+
+    private static List<Receipt> receipts() {
+        List<Receipt> receipts = new ArrayList<>(ROWS);
+        for (int i = 1; i <= ROWS; i++) {
+            Receipt receipt = new Receipt();
+            receipt.setId(i);
+            receipt.setUserId(12);
+            receipt.setFilePublicId(String.format("receipt_%d", i));
+            receipt.setUrl(String.format(
+                    "https://res.cloudinary.com/digital-receipt/image/upload/v1634567890/receipt_%d.jpg", i));
+            receipt.setFormat("jpg");
+            receipt.setBytes(184_320L + i);
+            receipt.setWidth(1080);
+            receipt.setHeight(1920);
+            receipt.setVersion(1_634_567_890L);
+            receipt.setInsertDate(new Date(1_634_567_890_000L + i * 60_000L));
+            receipt.setLocation("Target");
+            receipt.setLabel("Groceries");
+            receipt.setNotes("Weekly groceries and household items");
+            receipts.add(receipt);
+        }
+        return receipts;
+    }
+
+    private static List<User> users() {
+        List<User> users = new ArrayList<>(ROWS);
+        for (int i = 1; i <= ROWS; i++) {
+            User user = new User();
+            user.setId(i);
+            user.setFirstName("Load");
+            user.setLastName(String.format("User%d", i));
+            user.setEmail(String.format("user%d@digitalreceipt.com", i));
+            user.setWebRole(WebRole.USER);
+            user.setInsertDate(new Date(1_634_567_890_000L + i * 60_000L));
+            users.add(user);
+        }
+        return users;
+    }
+
+    /**
+     * Output message that keeps the body in memory, gzipped the way the server
+     * would compress it when asked to.
+     */
+    private static class BufferedOutputMessage implements HttpOutputMessage {
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(256 * 1024);
+
+        private final HttpHeaders headers = new HttpHeaders();
+
+        private OutputStream body;
+
+        void reset(boolean gzip) throws IOException {
+            buffer.reset();
+            headers.clear();
+            body = gzip ? new GZIPOutputStream(buffer, 8192) : buffer;
+        }
+
+        int finish() throws IOException {
+            body.close();
+            return buffer.size();
+        }
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
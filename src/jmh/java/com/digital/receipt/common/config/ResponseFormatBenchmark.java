@@ -0,0 +1,108 @@
+package com.digital.receipt.common.config;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.digital.receipt.app.receipt.client.domain.Receipt;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Benchmarks writing and reading a 500 receipt list as json and as cbor with
+ * the mappers the app uses for the response bodies. The payload size of each
+ * format is reported as the payloadBytes counter.
+ * 
+ * @author Sam Butler
+ * @since October 19, 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseFormatBenchmark {
+    private static final int RECEIPTS = 500;
+
+    private static final TypeReference<List<Receipt>> RECEIPT_LIST = new TypeReference<List<Receipt>>() {
+    };
+
+    @Param({ "json", "cbor" })
+    private String format;
+
+    private ObjectMapper mapper;
+
+    private List<Receipt> receipts;
+
+    private byte[] payload;
+
+    /**
+     * Reports the size of the payload written for the format.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Payload {
+        public long payloadBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            payloadBytes = 0;
+        }
+    }
+
+    @Setup
+    public void setup() throws Exception {
+        mapper = "cbor".equals(format) ? JacksonConfig.cborObjectMapper(Jackson2ObjectMapperBuilder.json())
+                : Jackson2ObjectMapperBuilder.json().build();
+
+        receipts = new ArrayList<>(RECEIPTS);
+        for (int i = 1; i <= RECEIPTS; i++) {
+            Receipt receipt = new Receipt();
+            receipt.setId(i);
+            receipt.setUserId(12);
+            receipt.setFilePublicId(String.format("receipt_%d", i));
+            receipt.setUrl(String.format(
+                    "https://res.cloudinary.com/digital-receipt/image/upload/v1634567890/receipt_%d.jpg", i));
+            receipt.setFormat("jpg");
+            receipt.setBytes(184_320L + i);
+            receipt.setWidth(1080);
+            receipt.setHeight(1920);
+            receipt.setVersion(1_634_567_890L);
+            receipt.setInsertDate(new Date(1_634_567_890_000L + i * 60_000L));
+            receipt.setLocation("Target");
+            receipt.setLabel("Groceries");
+            receipt.setNotes("Weekly groceries and household items");
+            receipts.add(receipt);
+        }
+        payload = mapper.writeValueAsBytes(receipts);
+    }
+
+    @Benchmark
+    public byte[] write(Payload counters) throws Exception {
+        byte[] bytes = mapper.writeValueAsBytes(receipts);
+        counters.payloadBytes = bytes.length;
+        return bytes;
+    }
+
+    @Benchmark
+    public List<Receipt> read() throws Exception {
+        return mapper.readValue(payload, RECEIPT_LIST);
+    }
+}
@@ -0,0 +1,65 @@
+package com.digital.receipt.jwt.utility;
+
+import java.util.concurrent.TimeUnit;
+
+import com.digital.receipt.app.user.client.domain.User;
+import com.digital.receipt.common.enums.WebRole;
+import com.digital.receipt.service.activeProfile.ActiveProfile;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Benchmarks generating and parsing tokens with {@link JwtTokenUtil}. The local
+ * signing key is used.
+ * 
+ * @author Sam Butler
+ * @since October 19, 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtTokenUtilBenchmark {
+    private JwtTokenUtil jwtTokenUtil;
+
+    private User user;
+
+    private String token;
+
+    @Setup
+    public void setup() {
+        jwtTokenUtil = new JwtTokenUtil(new ActiveProfile());
+
+        user = new User();
+        user.setId(4);
+        user.setFirstName("Test");
+        user.setLastName("User");
+        user.setEmail("user@test.com");
+        user.setWebRole(WebRole.USER);
+
+        token = jwtTokenUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtTokenUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public Claims getAllClaimsFromToken() {
+        return jwtTokenUtil.getAllClaimsFromToken(token);
+    }
+}
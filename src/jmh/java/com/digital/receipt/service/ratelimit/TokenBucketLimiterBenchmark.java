@@ -0,0 +1,81 @@
+package com.digital.receipt.service.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+
+/**
+ * Benchmarks the {@link TokenBucketLimiter} from several threads. The hot
+ * benchmark hits a small set of keys, the flood benchmark uses a new key on
+ * every call, which is millions of distinct keys per iteration. The trackedKeys
+ * counter is the most buckets the limiter held during the iteration, reported
+ * by the first thread only, and must stay at or under the key cap however many
+ * keys were seen.
+ * 
+ * @author Sam Butler
+ * @since October 19, 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class TokenBucketLimiterBenchmark {
+    private static final int MAX_KEYS = 100_000;
+
+    private static final String[] HOT_KEYS = { "10.0.0.1", "10.0.0.2", "10.0.0.3", "10.0.0.4", "10.0.0.5",
+            "10.0.0.6", "10.0.0.7", "10.0.0.8" };
+
+    private final AtomicLong nextKey = new AtomicLong();
+
+    private TokenBucketLimiter limiter;
+
+    /**
+     * Reports the number of buckets the limiter holds.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Keys {
+        public long trackedKeys;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            trackedKeys = 0;
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        limiter = new TokenBucketLimiter(20, 20, MAX_KEYS);
+    }
+
+    @Benchmark
+    public long hot() {
+        return limiter.acquire(HOT_KEYS[(int) (Thread.currentThread().getId() % HOT_KEYS.length)]);
+    }
+
+    @Benchmark
+    public long flood(Keys keys, ThreadParams threads) {
+        long wait = limiter.acquire(Long.toString(nextKey.incrementAndGet()));
+        if (threads.getThreadIndex() == 0) {
+            keys.trackedKeys = Math.max(keys.trackedKeys, limiter.size());
+        }
+        return wait;
+    }
+}
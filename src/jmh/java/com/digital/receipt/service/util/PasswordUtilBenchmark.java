@@ -0,0 +1,53 @@
+package com.digital.receipt.service.util;
+
+import java.util.concurrent.TimeUnit;
+
+import com.digital.receipt.app.auth.client.domain.AuthPassword;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks hashing and checking passwords with {@link PasswordUtil}.
+ * 
+ * @author Sam Butler
+ * @since October 19, 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PasswordUtilBenchmark {
+    private static final String PASSWORD = "benchmarkPassword123!";
+
+    private String saltedPassword;
+
+    private String hash;
+
+    @Setup
+    public void setup() throws Exception {
+        AuthPassword authPassword = PasswordUtil.hashPasswordWithSalt(PASSWORD);
+        saltedPassword = PasswordUtil.appendSaltToPassword(PASSWORD, authPassword.getSalt());
+        hash = authPassword.getPassword();
+    }
+
+    @Benchmark
+    public AuthPassword hashPasswordWithSalt() throws Exception {
+        return PasswordUtil.hashPasswordWithSalt(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean checkPassword() throws Exception {
+        return PasswordUtil.checkPassword(saltedPassword, hash);
+    }
+}
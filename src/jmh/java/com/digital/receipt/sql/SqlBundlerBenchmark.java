@@ -0,0 +1,140 @@
+package com.digital.receipt.sql;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.digital.receipt.common.abstracts.AbstractSqlDao;
+import com.digital.receipt.service.activeProfile.ActiveProfile;
+import com.digital.receipt.sql.domain.SqlParams;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks rendering each fragment in the receipt and user dao files through
+ * the {@link SqlBundler}. The setup fails if a fragment in those files is not
+ * in the param list, so the list can not fall behind the files.
+ * 
+ * @author Sam Butler
+ * @since October 19, 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SqlBundlerBenchmark {
+
+    private static final String[] DAO_FILES = { "ReceiptDao", "UserDao" };
+
+    private static final Pattern FRAGMENT_NAME = Pattern.compile("@NAME\\((\\w+)\\)");
+
+    @Param({ "ReceiptDao.getReceiptById", "ReceiptDao.getReceipts", "ReceiptDao.getCurrentUserReceiptById",
+            "ReceiptDao.getCurrentUserReceiptsForUpdate", "ReceiptDao.getReceiptsForDelete",
+            "ReceiptDao.getReceiptsMissingAsset", "ReceiptDao.getReceiptsByContentHashForUpdate",
+            "ReceiptDao.getReceiptsMissingContentHash", "ReceiptDao.getAssociatedReceiptIds",
+            "ReceiptDao.getDeletedReceiptsForUpdate", "ReceiptDao.getAutoIncrementReceiptDetails",
+            "ReceiptDao.insertUserReceipt", "ReceiptDao.updateReceiptAsset", "ReceiptDao.updateContentHash",
+            "ReceiptDao.reserveReceiptNameBlock", "ReceiptDao.associateUserToReceipt",
+            "ReceiptDao.updateCurrentUserAssociation", "ReceiptDao.updateCurrentUserAssociations",
+            "ReceiptDao.mergeReceiptAssociations", "ReceiptDao.deleteReceiptAssociations",
+            "ReceiptDao.markReceiptRecordsDeleted", "ReceiptDao.deleteReceiptRecords",
+            "ReceiptDao.claimDeletedReceipts", "ReceiptDao.deleteClaimedReceipts", "UserDao.getUserById",
+            "UserDao.getUserByEmail", "UserDao.getUsers", "UserDao.updateUserProfile", "UserDao.createUserProfile",
+            "UserDao.createUserPassword", "UserDao.updateUserPassword", "UserDao.updateUserRole",
+            "UserDao.deleteUser" })
+    public String fragment;
+
+    private SqlBundler bundler;
+
+    private List<String> lines;
+
+    private SqlParams params;
+
+    @Setup
+    public void setup() throws Exception {
+        checkEveryFragmentListed();
+
+        String[] parts = fragment.split("\\.");
+        FragmentReader dao = parts[0].equals("ReceiptDao") ? new ReceiptDao() : new UserDao();
+
+        bundler = new SqlBundler();
+        lines = dao.getLines(parts[1]);
+        params = new SqlParams().addValue("id", 12).addValue("userId", 4).addValue("email", "user@test.com")
+                .addValue("firstName", "Test").addValue("lastName", "User").addValue("password", "abc123")
+                .addValue("salt", 1234567890L).addValue("roleId", 1).addValue("name", "receipt-name")
+                .addValue("location", "Ridge Campus").addValue("label", "Lunch").addValue("notes", "Team lunch")
+                .addValue("duplicateId", 13).addValue("contentHash", "9f86d081884c7d659a2feaa0c55ad015")
+                .addValue("url", "https://res.cloudinary.com/test/image/upload/receipt-name").addValue("format", "jpg")
+                .addValue("bytes", 150000L).addValue("width", 1080).addValue("height", 1920).addValue("version", 1L)
+                .addValue("lastId", 12);
+    }
+
+    @Benchmark
+    public String bundle() {
+        return bundler.bundle(new ArrayList<>(lines), params);
+    }
+
+    /**
+     * Fails the setup if a fragment in one of the dao files is missing from the
+     * {@link Param} list, so a new fragment can not go unbenchmarked.
+     * 
+     * @throws Exception If the dao files can not be read or a fragment is missing.
+     */
+    private void checkEveryFragmentListed() throws Exception {
+        Set<String> listed = new HashSet<>(
+                Arrays.asList(getClass().getField("fragment").getAnnotation(Param.class).value()));
+
+        List<String> missing = new ArrayList<>();
+        for (String dao : DAO_FILES) {
+            Path file = Paths
+                    .get(String.format("%s/resources/dao/%s.sql", new ActiveProfile().getEnvironmentUrl(), dao));
+            Matcher matcher = FRAGMENT_NAME.matcher(new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+            while (matcher.find()) {
+                if (!listed.contains(dao + "." + matcher.group(1))) {
+                    missing.add(dao + "." + matcher.group(1));
+                }
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            throw new IllegalStateException("Fragments missing from the benchmark params: " + missing);
+        }
+    }
+
+    /**
+     * Reads the lines of a fragment. The simple name of the subclass is used to
+     * find the sql file.
+     */
+    private abstract static class FragmentReader extends AbstractSqlDao {
+        List<String> getLines(String fragmentName) throws Exception {
+            return getSql(fragmentName).getLines();
+        }
+    }
+
+    private static class ReceiptDao extends FragmentReader {
+    }
+
+    private static class UserDao extends FragmentReader {
+    }
+}
@@ -0,0 +1,132 @@
+package com.digital.receipt.loadtest;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+
+import com.digital.receipt.service.util.PasswordUtil;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+
+/**
+ * Embedded MariaDB instance used by the load test. MariaDB is used over an in
+ * memory database because the sql bundler quotes values with double quotes and
+ * the fragments read from information_schema, both of which need real MySQL
+ * behaviour.
+ * 
+ * @author Sam Butler
+ * @since October 19, 2026
+ */
+public class EmbeddedDatabase {
+    private static final Logger LOGGER = LoggerFactory.getLogger(EmbeddedDatabase.class);
+
+    private static final String DATABASE = "digital_receipt";
+
+    private static final String[] LOCATIONS = { "Ridge Campus", "Main Street", "Airport", "Downtown", "Online" };
+
+    private static final String[] LABELS = { "Lunch", "Groceries", "Fuel", "Office", "Travel" };
+
+    private DB db;
+
+    /**
+     * Starts the database on a free port and creates the schema.
+     * 
+     * @throws Exception If the database can not be started.
+     */
+    public void start() throws Exception {
+        DBConfigurationBuilder config = DBConfigurationBuilder.newBuilder();
+        config.setPort(0);
+        config.addArg("--innodb-buffer-pool-size=1G");
+        config.addArg("--innodb-flush-log-at-trx-commit=2");
+        config.addArg("--max-connections=200");
+
+        db = DB.newEmbeddedDB(config.build());
+        db.start();
+        db.createDB(DATABASE);
+        db.source("loadtest/schema.sql", DATABASE);
+    }
+
+    /**
+     * Seeds the users and their receipts. Every user has the same password and
+     * salt so the workload can log in as any of them. The configured share of the
+     * receipts is stored without a url, so reading them goes to the stand-in
+     * cloud storage.
+     * 
+     * @param settings The settings of the run.
+     * @throws Exception If the data can not be inserted.
+     */
+    public void seed(LoadTestSettings settings) throws Exception {
+        long start = System.currentTimeMillis();
+        String hash = PasswordUtil
+                .hashPassword(PasswordUtil.appendSaltToPassword(LoadTestSettings.PASSWORD, LoadTestSettings.SALT));
+
+        try (Connection connection = DriverManager.getConnection(getUrl(), getUsername(), "");
+                Statement statement = connection.createStatement()) {
+            statement.execute("SET foreign_key_checks = 0, unique_checks = 0");
+
+            statement.execute(String.format("INSERT INTO user_profile (id, first_name, last_name, email, web_role_id) "
+                    + "SELECT seq, CONCAT('First', seq), CONCAT('Last', seq), CONCAT('user', seq, '@loadtest.com'), 2 "
+                    + "FROM seq_1_to_%d", settings.getUsers()));
+            statement.execute(String.format("INSERT INTO user_credentials (user_id, password, salt) "
+                    + "SELECT seq, '%s', %d FROM seq_1_to_%d", hash, LoadTestSettings.SALT, settings.getUsers()));
+
+            statement.execute(String.format(
+                    "INSERT INTO receipt_details (id, file_public_id, url, format, bytes, width, height, version) "
+                            + "SELECT seq, CONCAT('loadtest/receipt-', seq), "
+                            + "IF(seq %% 100 < %d, NULL, "
+                            + "CONCAT('https://res.cloudinary.com/loadtest/image/upload/loadtest/receipt-', seq)), "
+                            + "'jpg', 150000 + seq %% 100000, 1080, 1920, 1 FROM seq_1_to_%d",
+                    settings.getMissingUrlPercent(), settings.getReceipts()));
+            statement.execute(String.format(
+                    "INSERT INTO user_receipts (receipt_id, user_id, insert_date_utc, location, label, notes) "
+                            + "SELECT seq, 1 + (seq - 1) %% %d, UTC_TIMESTAMP() - INTERVAL (seq %% 730) DAY, %s, %s, "
+                            + "CONCAT('Receipt notes ', seq) FROM seq_1_to_%d",
+                    settings.getUsers(), elt(LOCATIONS, 7), elt(LABELS, 3), settings.getReceipts()));
+
+            statement.execute("SET foreign_key_checks = 1, unique_checks = 1");
+            statement.execute("ANALYZE TABLE user_profile, user_credentials, receipt_details, user_receipts");
+        }
+        LOGGER.info("Seeded {} users and {} receipts in {} ms", settings.getUsers(), settings.getReceipts(),
+                System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Stops the database.
+     * 
+     * @throws Exception If the database can not be stopped.
+     */
+    public void stop() throws Exception {
+        if (db != null) {
+            db.stop();
+        }
+    }
+
+    public String getUrl() {
+        return String.format("jdbc:mysql://localhost:%d/%s?useSSL=false&allowPublicKeyRetrieval=true",
+                db.getConfiguration().getPort(), DATABASE);
+    }
+
+    public String getUsername() {
+        return "root";
+    }
+
+    /**
+     * Builds an ELT expression that picks one of the values based on the row
+     * sequence.
+     * 
+     * @param values The values to pick from.
+     * @param stride Multiplier so different columns do not line up.
+     * @return {@link String} of the sql expression.
+     */
+    private String elt(String[] values, int stride) {
+        StringBuilder sql = new StringBuilder(String.format("ELT(1 + (seq * %d) %% %d", stride, values.length));
+        for (String value : values) {
+            sql.append(", '").append(value).append("'");
+        }
+        return sql.append(")").toString();
+    }
+}
@@ -0,0 +1,58 @@
+package com.digital.receipt.loadtest;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Latency and error counts for a single endpoint of the load test workload.
+ * Latencies are recorded in microseconds.
+ * 
+ * @author Sam Butler
+ * @since October 19, 2026
+ */
+public class EndpointStats {
+    private final String name;
+
+    private final Histogram latency = new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(1), 3);
+
+    private final AtomicLong errors = new AtomicLong();
+
+    public EndpointStats(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Records a successful call.
+     * 
+     * @param nanos How long the call took.
+     */
+    public void record(long nanos) {
+        latency.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), latency.getHighestTrackableValue()));
+    }
+
+    /**
+     * Records a failed call.
+     */
+    public void error() {
+        errors.incrementAndGet();
+    }
+
+    /**
+     * Formats the stats as a row of the report.
+     * 
+     * @param seconds How long the measurement ran for.
+     * @return {@link String} of the report row.
+     */
+    public String report(double seconds) {
+        return String.format("%-16s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f", name, latency.getTotalCount(),
+                errors.get(), latency.getTotalCount() / seconds, millis(50), millis(90), millis(99), millis(99.9),
+                latency.getMaxValue() / 1000.0);
+    }
+
+    private double millis(double percentile) {
+        return latency.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
@@ -0,0 +1,59 @@
+package com.digital.receipt.loadtest;
+
+import com.digital.receipt.DigitalReceiptReaderBackendApplication;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Runs the full application against an embedded database with in memory
+ * stand-ins for cloudinary and mail, then drives the scripted {@link Workload}
+ * against it and logs the throughput and latency of each endpoint. Set
+ * {@code loadtest.scenario=stacks} to compare the blocking and reactive receipt
+ * endpoints instead.
+ * 
+ * @author Sam Butler
+ * @since October 19, 2026
+ */
+public class LoadTestApplication {
+    private static final Logger LOGGER = LoggerFactory.getLogger(LoadTestApplication.class);
+
+    /**
+     * Main method to start the load test.
+     * 
+     * @param args The arguments to be run with the application, if any.
+     * @throws Exception If the database or application can not be started.
+     */
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = new LoadTestSettings();
+        EmbeddedDatabase database = new EmbeddedDatabase();
+        ConfigurableApplicationContext context = null;
+
+        try {
+            database.start();
+            database.seed(settings);
+
+            System.setProperty("spring.datasource.url", database.getUrl());
+            System.setProperty("spring.datasource.username", database.getUsername());
+            System.setProperty("spring.datasource.password", "");
+
+            context = new SpringApplicationBuilder(DigitalReceiptReaderBackendApplication.class).profiles("loadtest")
+                    .run(args);
+            String baseUrl = String.format("http://localhost:%s",
+                    context.getEnvironment().getProperty("local.server.port"));
+
+            LOGGER.info("Running the {} scenario with {} virtual users for {}s after a {}s warmup",
+                    settings.getScenario().name().toLowerCase(), settings.getVirtualUsers(),
+                    settings.getDurationSeconds(), settings.getWarmupSeconds());
+            String report = new Workload(baseUrl, settings).run();
+            LOGGER.info("Load test results:{}{}", System.lineSeparator(), report);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+            database.stop();
+        }
+    }
+}
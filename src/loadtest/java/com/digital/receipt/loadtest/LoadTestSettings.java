@@ -0,0 +1,90 @@
+package com.digital.receipt.loadtest;
+
+/**
+ * Settings for a load test run. Each value can be overridden with a system
+ * property of the same name, for example {@code -Dloadtest.users=1000}.
+ * 
+ * @author Sam Butler
+ * @since October 19, 2026
+ */
+public class LoadTestSettings {
+    public static final String PASSWORD = "loadtest-password";
+
+    /**
+     * The workloads the load test can drive. The mixed scenario runs the list,
+     * search, update and delete mix against the blocking endpoints. The stacks
+     * scenario runs the same read mix against the blocking and then the reactive
+     * receipt endpoints and reports them side by side.
+     */
+    public enum Scenario {
+        MIXED, STACKS
+    }
+
+    public static final long SALT = 1234567890L;
+
+    private final int users;
+
+    private final int receiptsPerUser;
+
+    private final int virtualUsers;
+
+    private final int warmupSeconds;
+
+    private final int durationSeconds;
+
+    private final Scenario scenario;
+
+    private final int missingUrlPercent;
+
+    public LoadTestSettings() {
+        users = Integer.getInteger("loadtest.users", 100_000);
+        receiptsPerUser = Integer.getInteger("loadtest.receipts-per-user", 25);
+        virtualUsers = Integer.getInteger("loadtest.virtual-users", 32);
+        warmupSeconds = Integer.getInteger("loadtest.warmup-seconds", 30);
+        durationSeconds = Integer.getInteger("loadtest.duration-seconds", 120);
+        scenario = Scenario.valueOf(System.getProperty("loadtest.scenario", "mixed").toUpperCase());
+        missingUrlPercent = Integer.getInteger("loadtest.missing-url-percent", scenario == Scenario.STACKS ? 10 : 0);
+    }
+
+    public int getUsers() {
+        return users;
+    }
+
+    public int getReceiptsPerUser() {
+        return receiptsPerUser;
+    }
+
+    public long getReceipts() {
+        return (long) users * receiptsPerUser;
+    }
+
+    public int getVirtualUsers() {
+        return virtualUsers;
+    }
+
+    public int getWarmupSeconds() {
+        return warmupSeconds;
+    }
+
+    public int getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    public Scenario getScenario() {
+        return scenario;
+    }
+
+    public int getMissingUrlPercent() {
+        return missingUrlPercent;
+    }
+
+    /**
+     * Gets the email of the seeded user with the given id.
+     * 
+     * @param userId The id of the user.
+     * @return {@link String} of the email.
+     */
+    public static String email(int userId) {
+        return String.format("user%d@loadtest.com", userId);
+    }
+}
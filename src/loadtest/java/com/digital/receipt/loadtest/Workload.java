@@ -0,0 +1,275 @@
+package com.digital.receipt.loadtest;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import com.digital.receipt.loadtest.LoadTestSettings.Scenario;
+
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Scripted workload for the load test. Each virtual user logs in as a random
+ * seeded user and then runs a mix of list, search, update and delete calls
+ * against that user's receipts before logging in as someone else.
+ * 
+ * The stacks scenario instead runs a read mix of list and get calls, first
+ * against the blocking receipt endpoints and then against their reactive
+ * variants, with the same virtual users, warmup and duration for each, and
+ * reports the two stacks side by side.
+ * 
+ * @author Sam Butler
+ * @since October 19, 2026
+ */
+public class Workload {
+    private static final String RECEIPT_PATH = "/api/receipt-app/receipt";
+
+    private static final String REACTIVE_PATH = RECEIPT_PATH + "/reactive";
+
+    private static final String[] MIXED_ENDPOINTS = { "login", "list", "search", "update", "delete" };
+
+    private static final String[] STACKS = { "blocking", "reactive" };
+
+    private static final String[] STACK_ENDPOINTS = { "list", "get" };
+
+    private static final String[] SEARCH_LABELS = { "Lunch", "Groceries", "Fuel", "Office", "Travel" };
+
+    private static final int ACTIONS_PER_SESSION = 20;
+
+    private static final ParameterizedTypeReference<List<Map<String, Object>>> RECEIPT_LIST = new ParameterizedTypeReference<List<Map<String, Object>>>() {
+    };
+
+    private final String baseUrl;
+
+    private final LoadTestSettings settings;
+
+    private final RestTemplate rest;
+
+    private final Map<String, EndpointStats> stats = new LinkedHashMap<>();
+
+    private volatile boolean recording;
+
+    private volatile boolean stopped;
+
+    public Workload(String baseUrl, LoadTestSettings settings) {
+        this.baseUrl = baseUrl;
+        this.settings = settings;
+
+        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
+        factory.setConnectTimeout(5_000);
+        factory.setReadTimeout(60_000);
+        rest = new RestTemplate(factory);
+
+        for (String name : MIXED_ENDPOINTS) {
+            stats.put(name, new EndpointStats(name));
+        }
+        for (String stack : STACKS) {
+            for (String endpoint : STACK_ENDPOINTS) {
+                stats.put(stack + "/" + endpoint, new EndpointStats(stack + "/" + endpoint));
+            }
+        }
+    }
+
+    /**
+     * Runs the workload of the configured scenario.
+     * 
+     * @return {@link String} of the report for the measured part.
+     * @throws InterruptedException If interrupted while waiting on the run.
+     */
+    public String run() throws InterruptedException {
+        List<String> rows = new ArrayList<>();
+        rows.add(String.format("%-16s %10s %8s %10s %9s %9s %9s %9s %9s", "endpoint", "requests", "errors", "req/s",
+                "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+
+        if (settings.getScenario() == Scenario.STACKS) {
+            for (String stack : STACKS) {
+                String path = stack.equals("reactive") ? REACTIVE_PATH : RECEIPT_PATH;
+                double seconds = measure(() -> stackUser(stack, path));
+                for (String endpoint : STACK_ENDPOINTS) {
+                    rows.add(stats.get(stack + "/" + endpoint).report(seconds));
+                }
+            }
+        } else {
+            double seconds = measure(this::virtualUser);
+            for (String name : MIXED_ENDPOINTS) {
+                rows.add(stats.get(name).report(seconds));
+            }
+        }
+        return String.join(System.lineSeparator(), rows);
+    }
+
+    /**
+     * Runs the warmup and then the measured part of a workload with the given
+     * virtual user loop.
+     * 
+     * @param virtualUser The loop each virtual user runs until it is stopped.
+     * @return {@link double} of how long the measurement ran for in seconds.
+     * @throws InterruptedException If interrupted while waiting on the run.
+     */
+    private double measure(Runnable virtualUser) throws InterruptedException {
+        stopped = false;
+        ExecutorService pool = Executors.newFixedThreadPool(settings.getVirtualUsers());
+        for (int i = 0; i < settings.getVirtualUsers(); i++) {
+            pool.submit(virtualUser);
+        }
+
+        TimeUnit.SECONDS.sleep(settings.getWarmupSeconds());
+        recording = true;
+        long start = System.nanoTime();
+        TimeUnit.SECONDS.sleep(settings.getDurationSeconds());
+        recording = false;
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        stopped = true;
+        pool.shutdown();
+        pool.awaitTermination(1, TimeUnit.MINUTES);
+        return seconds;
+    }
+
+    /**
+     * Loop for a single virtual user until the run is stopped.
+     */
+    private void virtualUser() {
+        while (!stopped) {
+            HttpHeaders headers = login();
+            if (headers == null) {
+                continue;
+            }
+
+            List<Integer> receiptIds = new ArrayList<>();
+            for (int i = 0; i < ACTIONS_PER_SESSION && !stopped; i++) {
+                int roll = ThreadLocalRandom.current().nextInt(100);
+                if (roll < 45 || receiptIds.isEmpty()) {
+                    List<Map<String, Object>> receipts = call("list", () -> exchange(RECEIPT_PATH + "/current-user",
+                            HttpMethod.GET, new HttpEntity<>(headers), RECEIPT_LIST));
+                    if (receipts != null) {
+                        receiptIds.clear();
+                        receipts.forEach(r -> receiptIds.add((Integer) r.get("id")));
+                    }
+                } else if (roll < 75) {
+                    String label = SEARCH_LABELS[ThreadLocalRandom.current().nextInt(SEARCH_LABELS.length)];
+                    call("search", () -> exchange(RECEIPT_PATH + "/current-user?label=" + label, HttpMethod.GET,
+                            new HttpEntity<>(headers), RECEIPT_LIST));
+                } else if (roll < 95) {
+                    Map<String, Object> body = new HashMap<>();
+                    body.put("id", randomId(receiptIds));
+                    body.put("label", SEARCH_LABELS[ThreadLocalRandom.current().nextInt(SEARCH_LABELS.length)]);
+                    body.put("notes", "Updated by load test");
+                    call("update", () -> exchange(RECEIPT_PATH + "/associate", HttpMethod.PUT,
+                            new HttpEntity<>(body, headers), new ParameterizedTypeReference<Map<String, Object>>() {
+                            }));
+                } else {
+                    Integer id = receiptIds.remove(ThreadLocalRandom.current().nextInt(receiptIds.size()));
+                    call("delete", () -> exchange(RECEIPT_PATH + "/current-user/" + id, HttpMethod.DELETE,
+                            new HttpEntity<>(headers), new ParameterizedTypeReference<Void>() {
+                            }));
+                }
+            }
+        }
+    }
+
+    /**
+     * Loop for a single virtual user of the stacks scenario until the run is
+     * stopped. Lists the user's receipts and gets single receipts through the
+     * given stack.
+     * 
+     * @param stack The name of the stack the calls are recorded against.
+     * @param path  The path of the receipt endpoints of the stack.
+     */
+    private void stackUser(String stack, String path) {
+        while (!stopped) {
+            HttpHeaders headers = login();
+            if (headers == null) {
+                continue;
+            }
+
+            List<Integer> receiptIds = new ArrayList<>();
+            for (int i = 0; i < ACTIONS_PER_SESSION && !stopped; i++) {
+                if (ThreadLocalRandom.current().nextInt(100) < 40 || receiptIds.isEmpty()) {
+                    List<Map<String, Object>> receipts = call(stack + "/list", () -> exchange(
+                            path + "/current-user", HttpMethod.GET, new HttpEntity<>(headers), RECEIPT_LIST));
+                    if (receipts != null) {
+                        receiptIds.clear();
+                        receipts.forEach(r -> receiptIds.add((Integer) r.get("id")));
+                    }
+                } else {
+                    int id = randomId(receiptIds);
+                    call(stack + "/get", () -> exchange(path + "/current-user/" + id, HttpMethod.GET,
+                            new HttpEntity<>(headers), new ParameterizedTypeReference<Map<String, Object>>() {
+                            }));
+                }
+            }
+        }
+    }
+
+    /**
+     * Logs in as a random seeded user.
+     * 
+     * @return {@link HttpHeaders} with the token, or null if the login failed.
+     */
+    private HttpHeaders login() {
+        int userId = 1 + ThreadLocalRandom.current().nextInt(settings.getUsers());
+        Map<String, Object> body = new HashMap<>();
+        body.put("email", LoadTestSettings.email(userId));
+        body.put("password", LoadTestSettings.PASSWORD);
+
+        HttpHeaders jsonHeaders = new HttpHeaders();
+        jsonHeaders.setContentType(MediaType.APPLICATION_JSON);
+        Map<String, Object> token = call("login", () -> exchange("/authenticate", HttpMethod.POST,
+                new HttpEntity<>(body, jsonHeaders), new ParameterizedTypeReference<Map<String, Object>>() {
+                }));
+        if (token == null) {
+            return null;
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set(HttpHeaders.AUTHORIZATION, "Bearer: " + token.get("token"));
+        return headers;
+    }
+
+    /**
+     * Times the given call and records it against the endpoint.
+     * 
+     * @param <T>      The type the call returns.
+     * @param endpoint The name of the endpoint.
+     * @param request  The call to make.
+     * @return The result of the call, or null if it failed.
+     */
+    private <T> T call(String endpoint, Supplier<T> request) {
+        long start = System.nanoTime();
+        try {
+            T result = request.get();
+            if (recording) {
+                stats.get(endpoint).record(System.nanoTime() - start);
+            }
+            return result;
+        } catch (Exception e) {
+            if (recording) {
+                stats.get(endpoint).error();
+            }
+            return null;
+        }
+    }
+
+    private <T> T exchange(String path, HttpMethod method, HttpEntity<?> entity, ParameterizedTypeReference<T> type) {
+        return rest.exchange(baseUrl + path, method, entity, type).getBody();
+    }
+
+    private int randomId(List<Integer> ids) {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+}
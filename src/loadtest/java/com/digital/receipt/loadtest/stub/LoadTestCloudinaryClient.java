@@ -0,0 +1,56 @@
+package com.digital.receipt.loadtest.stub;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.digital.receipt.service.cloudinary.CloudinaryClient;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+
+/**
+ * In memory stand-in for the {@link CloudinaryClient} used by the reactive
+ * receipt endpoints during the load test. Resource lookups complete after the
+ * configured latency on a timer instead of calling cloudinary, so they hold no
+ * thread while they wait, the same as the real client.
+ * 
+ * @author Sam Butler
+ * @since October 19, 2026
+ */
+@Service
+@Primary
+@Profile("loadtest")
+public class LoadTestCloudinaryClient extends CloudinaryClient {
+    private static final String URL_FORMAT = "https://res.cloudinary.com/loadtest/image/upload/%s";
+
+    @Value("${loadtest.cloud.latency-ms:40}")
+    private long latencyMs;
+
+    @Autowired
+    public LoadTestCloudinaryClient(MeterRegistry registry, @Value("${cloudinary.api-key}") String apiKey,
+            @Value("${cloudinary.api-secret}") String apiSecret) {
+        super(registry, apiKey, apiSecret);
+    }
+
+    @Override
+    public Mono<Map<String, Object>> getResource(String pid) {
+        return Mono.delay(Duration.ofMillis(latencyMs)).map(t -> {
+            Map<String, Object> resource = new HashMap<>();
+            resource.put("public_id", pid);
+            resource.put("secure_url", String.format(URL_FORMAT, pid));
+            resource.put("format", "jpg");
+            resource.put("bytes", 150_000L);
+            resource.put("width", 1080);
+            resource.put("height", 1920);
+            resource.put("version", 1L);
+            return resource;
+        });
+    }
+}
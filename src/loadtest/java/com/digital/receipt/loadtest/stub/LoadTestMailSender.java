@@ -0,0 +1,44 @@
+package com.digital.receipt.loadtest.stub;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.mail.internet.MimeMessage;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.mail.MailException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.stereotype.Service;
+
+/**
+ * In memory stand-in for the {@link JavaMailSenderImpl} used by the load test.
+ * Messages are counted and dropped after waiting the configured latency.
+ * 
+ * @author Sam Butler
+ * @since October 19, 2026
+ */
+@Service
+@Primary
+@Profile("loadtest")
+public class LoadTestMailSender extends JavaMailSenderImpl {
+
+    @Value("${loadtest.mail.latency-ms:150}")
+    private long latencyMs;
+
+    private final AtomicLong sent = new AtomicLong();
+
+    @Override
+    protected void doSend(MimeMessage[] mimeMessages, Object[] originalMessages) throws MailException {
+        try {
+            Thread.sleep(latencyMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        sent.addAndGet(mimeMessages.length);
+    }
+
+    public long getSent() {
+        return sent.get();
+    }
+}
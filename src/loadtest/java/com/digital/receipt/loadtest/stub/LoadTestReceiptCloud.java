@@ -0,0 +1,70 @@
+package com.digital.receipt.loadtest.stub;
+
+import java.io.InputStream;
+import java.util.List;
+
+import com.digital.receipt.service.cloudinary.ReceiptCloud;
+import com.digital.receipt.service.cloudinary.domain.CloudinaryAsset;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+/**
+ * In memory stand-in for the {@link ReceiptCloud} used by the load test. Each
+ * call waits the configured latency instead of calling cloudinary.
+ * 
+ * @author Sam Butler
+ * @since October 19, 2026
+ */
+@Service
+@Primary
+@Profile("loadtest")
+public class LoadTestReceiptCloud extends ReceiptCloud {
+    private static final String URL_FORMAT = "https://res.cloudinary.com/loadtest/image/upload/%s";
+
+    @Value("${loadtest.cloud.latency-ms:40}")
+    private long latencyMs;
+
+    @Override
+    public void delete(String pid) throws Exception {
+        Thread.sleep(latencyMs);
+    }
+
+    @Override
+    public void delete(List<String> pids) throws Exception {
+        Thread.sleep(latencyMs);
+    }
+
+    @Override
+    public String getUrl(String pid) throws Exception {
+        Thread.sleep(latencyMs);
+        return String.format(URL_FORMAT, pid);
+    }
+
+    @Override
+    public CloudinaryAsset upload(String pid, MediaType contentType, InputStream content) throws Exception {
+        byte[] buffer = new byte[16 * 1024];
+        try (InputStream in = content) {
+            while (in.read(buffer) != -1) {
+            }
+        }
+        return getAsset(pid);
+    }
+
+    @Override
+    public CloudinaryAsset getAsset(String pid) throws Exception {
+        Thread.sleep(latencyMs);
+
+        CloudinaryAsset asset = new CloudinaryAsset();
+        asset.setUrl(String.format(URL_FORMAT, pid));
+        asset.setFormat("jpg");
+        asset.setBytes(150_000L);
+        asset.setWidth(1080);
+        asset.setHeight(1920);
+        asset.setVersion(1L);
+        return asset;
+    }
+}
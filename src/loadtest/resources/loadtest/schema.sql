@@ -0,0 +1,61 @@
+CREATE TABLE user_profile (
+    id INT NOT NULL AUTO_INCREMENT,
+    first_name VARCHAR(100) NOT NULL,
+    last_name VARCHAR(100) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    web_role_id INT NOT NULL DEFAULT 2,
+    insert_date_utc DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id),
+    UNIQUE KEY ux_user_profile_email (email)
+) ENGINE = InnoDB;
+
+CREATE TABLE user_credentials (
+    user_id INT NOT NULL,
+    password VARCHAR(64) NOT NULL,
+    salt BIGINT NOT NULL,
+    PRIMARY KEY (user_id),
+    CONSTRAINT fk_user_credentials_user FOREIGN KEY (user_id) REFERENCES user_profile (id) ON DELETE CASCADE
+) ENGINE = InnoDB;
+
+CREATE TABLE receipt_details (
+    id INT NOT NULL AUTO_INCREMENT,
+    file_public_id VARCHAR(255) NOT NULL,
+    url VARCHAR(512) NULL,
+    format VARCHAR(16) NULL,
+    bytes BIGINT NULL,
+    width INT NULL,
+    height INT NULL,
+    version BIGINT NULL,
+    deleted_at DATETIME NULL,
+    content_hash CHAR(64) NULL,
+    purge_claimed_at DATETIME NULL,
+    PRIMARY KEY (id),
+    KEY ix_receipt_details_deleted_at (deleted_at),
+    UNIQUE KEY ux_receipt_details_content_hash (content_hash)
+) ENGINE = InnoDB;
+
+CREATE TABLE user_receipts (
+    receipt_id INT NOT NULL,
+    user_id INT NOT NULL,
+    insert_date_utc DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    location VARCHAR(255),
+    label VARCHAR(255),
+    notes VARCHAR(1000),
+    PRIMARY KEY (receipt_id, user_id),
+    KEY ix_user_receipts_user (user_id),
+    CONSTRAINT fk_user_receipts_receipt FOREIGN KEY (receipt_id) REFERENCES receipt_details (id) ON DELETE CASCADE,
+    CONSTRAINT fk_user_receipts_user FOREIGN KEY (user_id) REFERENCES user_profile (id) ON DELETE CASCADE
+) ENGINE = InnoDB;
+
+CREATE TABLE receipt_name_block (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    insert_date_utc DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB AUTO_INCREMENT = 1000000;
+
+CREATE TABLE resource_version (
+    resource VARCHAR(32) NOT NULL,
+    user_id INT NOT NULL,
+    version BIGINT NOT NULL DEFAULT 1,
+    PRIMARY KEY (resource, user_id)
+) ENGINE = InnoDB;
@@ -4,6 +4,8 @@ import com.digital.receipt.service.activeProfile.ActiveProfile;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * The starter spring boot application for Digital Receipt Reader.
@@ -12,6 +14,8 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  * @since July 1, 2021
  */
 @SpringBootApplication
+@EnableAsync
+@EnableScheduling
 public class DigitalReceiptReaderBackendApplication {
 	/**
 	 * Main method to start the application.
@@ -0,0 +1,165 @@
+package com.digital.receipt.annotations.interceptors;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import com.digital.receipt.annotations.interfaces.ETagged;
+import com.digital.receipt.jwt.utility.JwtHolder;
+import com.digital.receipt.service.version.ResourceVersionService;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.HeaderContentNegotiationStrategy;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Answers gets on endpoints marked with {@link ETagged} with a not modified
+ * when the etag the client has is still the current version of the resource.
+ * The version is read before the handler runs so the etag sent is never newer
+ * than the data sent with it.
+ * 
+ * Endpoints that can answer in more than one media type get a
+ * {@code Vary: Accept} header, and their etag names the media type the client
+ * will get, so caches never hand a cbor body to a json client.
+ * 
+ * @author Sam Butler
+ * @since October 19, 2026
+ */
+@Component
+public class ETagInterceptor implements HandlerInterceptor {
+
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
+    @Autowired
+    private JwtHolder jwtHolder;
+
+    private final HeaderContentNegotiationStrategy acceptStrategy = new HeaderContentNegotiationStrategy();
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws Exception {
+        if (!(handler instanceof HandlerMethod)) {
+            return true;
+        }
+
+        List<MediaType> producible = getProducibleMediaTypes(request);
+        if (producible.size() > 1) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        }
+        if (!isGet(request)) {
+            return true;
+        }
+
+        ETagged eTagged = ((HandlerMethod) handler).getMethodAnnotation(ETagged.class);
+        int userId = eTagged == null ? -1 : jwtHolder.getRequiredUserId();
+        if (userId < 0) {
+            return true;
+        }
+
+        String eTag = resourceVersionService.getETag(eTagged.value(), userId, negotiate(request, producible));
+        response.setHeader(HttpHeaders.ETAG, eTag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), eTag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Gets the media types the handler of the request can produce, in the order
+     * they are declared.
+     * 
+     * @param request The request to get the media types of.
+     * @return {@link List<MediaType>} of the producible media types.
+     */
+    @SuppressWarnings("unchecked")
+    private List<MediaType> getProducibleMediaTypes(HttpServletRequest request) {
+        Set<MediaType> producible = (Set<MediaType>) request
+                .getAttribute(HandlerMapping.PRODUCIBLE_MEDIA_TYPES_ATTRIBUTE);
+        return producible == null ? Collections.emptyList() : new ArrayList<>(producible);
+    }
+
+    /**
+     * Picks the media type the response will be written in. The accepted types
+     * are tried in order of preference and the first producible type one of them
+     * matches is used, which is the type the message converters will pick.
+     * 
+     * @param request    The request to negotiate the media type for.
+     * @param producible The media types the handler can produce.
+     * @return {@link MediaType} the response will be written in.
+     * @throws HttpMediaTypeNotAcceptableException If the accept header can not be
+     *                                             parsed.
+     */
+    private MediaType negotiate(HttpServletRequest request, List<MediaType> producible)
+            throws HttpMediaTypeNotAcceptableException {
+        if (producible.isEmpty()) {
+            return MediaType.APPLICATION_JSON;
+        }
+
+        for (MediaType accepted : acceptStrategy.resolveMediaTypes(new ServletWebRequest(request))) {
+            for (MediaType type : producible) {
+                if (accepted.isCompatibleWith(type)) {
+                    return type;
+                }
+            }
+        }
+        return producible.get(0);
+    }
+
+    /**
+     * Checks if the request is a get or head request.
+     * 
+     * @param request The request to check.
+     * @return {@link boolean} if the request is a get.
+     */
+    private boolean isGet(HttpServletRequest request) {
+        return "GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod());
+    }
+
+    /**
+     * Checks if any of the etags in the if none match header match the current
+     * etag. The etags are compared by their value, ignoring if they are weak.
+     * 
+     * @param ifNoneMatch The if none match header.
+     * @param eTag        The current etag.
+     * @return {@link boolean} if the etag matches.
+     */
+    private boolean matches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+
+        String value = opaque(eTag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            candidate = candidate.trim();
+            if (opaque(candidate).equals(value) || candidate.equals("*")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the quoted value of the etag without the weak prefix.
+     * 
+     * @param eTag The etag to get the value of.
+     * @return {@link String} of the quoted value.
+     */
+    private String opaque(String eTag) {
+        return eTag.startsWith("W/") ? eTag.substring(2) : eTag;
+    }
+}
@@ -0,0 +1,24 @@
+package com.digital.receipt.annotations.interceptors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Registers the interceptors that run before the rest controllers.
+ * 
+ * @author Sam Butler
+ * @since October 19, 2026
+ */
+@Configuration
+public class InterceptorConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private ETagInterceptor eTagInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(eTagInterceptor);
+    }
+}
@@ -0,0 +1,21 @@
+package com.digital.receipt.annotations.interfaces;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import com.digital.receipt.common.enums.VersionedResource;
+
+/**
+ * Annotation for endpoints that return the resource of the current user and can
+ * be answered with a not modified when the resource version has not changed.
+ * 
+ * @author Sam Butler
+ * @since October 19, 2026
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ETagged {
+    VersionedResource value();
+}
@@ -1,5 +1,7 @@
 package com.digital.receipt.app.auth.client;
 
+import java.util.concurrent.CompletionException;
+
 import com.digital.receipt.annotations.interfaces.Client;
 import com.digital.receipt.app.auth.client.domain.DigitalReceiptToken;
 import com.digital.receipt.app.auth.rest.AuthenticationController;
@@ -29,7 +31,14 @@ public class AuthenticationClient {
      *                   databsae
      */
     public ResponseEntity<DigitalReceiptToken> authenticateUser(String email, String password) throws Exception {
-        return controller.authenticateUser(new AuthenticationRequest(email, password));
+        try {
+            return controller.authenticateUser(new AuthenticationRequest(email, password)).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof Exception) {
+                throw (Exception) e.getCause();
+            }
+            throw e;
+        }
     }
 
     /**
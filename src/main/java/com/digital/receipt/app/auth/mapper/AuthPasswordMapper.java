@@ -4,22 +4,29 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 
 import com.digital.receipt.app.auth.client.domain.AuthPassword;
-
-import org.springframework.jdbc.core.RowMapper;
+import com.digital.receipt.common.abstracts.AbstractIndexedMapper;
 
 /**
- * Mapper class to map a Auth Password Object.
+ * Mapper class to map a Auth Password Object. The columns are read by index in
+ * the order the getUserAuthenticationSalt fragment selects them.
  * 
  * @author Sam Butler
  * @since June 25, 2021
  */
-public class AuthPasswordMapper implements RowMapper<AuthPassword> {
+public class AuthPasswordMapper extends AbstractIndexedMapper<AuthPassword> {
     public static AuthPasswordMapper AUTH_PASSWORD_MAPPER = new AuthPasswordMapper();
 
-    public AuthPassword mapRow(ResultSet rs, int rowNum) throws SQLException {
+    private static final int PASSWORD = 1;
+    private static final int SALT = 2;
+
+    public AuthPasswordMapper() {
+        super("password", "salt");
+    }
+
+    protected AuthPassword mapIndexedRow(ResultSet rs) throws SQLException {
         AuthPassword authPassword = new AuthPassword();
-        authPassword.setPassword(rs.getString("password"));
-        authPassword.setSalt(rs.getLong("salt"));
+        authPassword.setPassword(rs.getString(PASSWORD));
+        authPassword.setSalt(rs.getLong(SALT));
 
         return authPassword;
     }
@@ -1,8 +1,10 @@
 package com.digital.receipt.app.auth.rest;
 
+import static org.springframework.http.MediaType.APPLICATION_CBOR_VALUE;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 
 import java.util.Date;
+import java.util.concurrent.CompletableFuture;
 
 import com.digital.receipt.annotations.interfaces.RestApiController;
 import com.digital.receipt.app.auth.client.domain.DigitalReceiptToken;
@@ -10,6 +12,7 @@ import com.digital.receipt.app.auth.service.AuthenticationService;
 import com.digital.receipt.app.user.client.domain.User;
 import com.digital.receipt.jwt.model.AuthenticationRequest;
 import com.digital.receipt.jwt.utility.JwtTokenUtil;
+import com.digital.receipt.service.ratelimit.LoginRateLimiter;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -30,20 +33,26 @@ public class AuthenticationController {
     @Autowired
     private AuthenticationService authService;
 
+    @Autowired
+    private LoginRateLimiter loginRateLimiter;
+
     /**
-     * Generates a JWT token from a request
+     * Generates a JWT token from a request. The request thread is released while
+     * the password is hashed and the response is completed asynchronously.
      *
      * @param authenticationRequest A email and password request.
      * @return a new JWT.
      * @throws Exception - if authentication request does not match a user.
      */
-    @PostMapping(path = "/authenticate", produces = APPLICATION_JSON_VALUE)
-    public ResponseEntity<DigitalReceiptToken> authenticateUser(
+    @PostMapping(path = "/authenticate", produces = { APPLICATION_JSON_VALUE, APPLICATION_CBOR_VALUE })
+    public CompletableFuture<ResponseEntity<DigitalReceiptToken>> authenticateUser(
             @RequestBody AuthenticationRequest authenticationRequest) throws Exception {
-        User user = authService.verifyUser(authenticationRequest.getEmail(), authenticationRequest.getPassword());
-
-        final String token = jwtTokenUtil.generateToken(user);
-        return ResponseEntity.ok(new DigitalReceiptToken(token, new Date(), user));
+        loginRateLimiter.acquire(authenticationRequest.getEmail());
+        return authService.verifyUser(authenticationRequest.getEmail(), authenticationRequest.getPassword())
+                .thenApply(user -> {
+                    final String token = jwtTokenUtil.generateToken(user);
+                    return ResponseEntity.ok(new DigitalReceiptToken(token, new Date(), user));
+                });
     }
 
     /**
@@ -53,7 +62,7 @@ public class AuthenticationController {
      * @return a new JWT.
      * @throws Exception If user does not exist.
      */
-    @PostMapping(path = "/reauthenticate", produces = APPLICATION_JSON_VALUE)
+    @PostMapping(path = "/reauthenticate", produces = { APPLICATION_JSON_VALUE, APPLICATION_CBOR_VALUE })
     public ResponseEntity<DigitalReceiptToken> reauthenticateUser() throws Exception {
         User user = authService.getUserToAuthenticate();
         final String token = jwtTokenUtil.generateToken(user);
@@ -1,10 +1,14 @@
 package com.digital.receipt.app.auth.service;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
 import com.digital.receipt.app.auth.client.domain.AuthPassword;
 import com.digital.receipt.app.auth.dao.AuthenticationDao;
 import com.digital.receipt.app.user.client.UserClient;
 import com.digital.receipt.app.user.client.domain.User;
 import com.digital.receipt.jwt.utility.JwtHolder;
+import com.digital.receipt.service.util.PasswordHashExecutor;
 import com.digital.receipt.service.util.PasswordUtil;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -29,16 +33,33 @@ public class AuthenticationService {
     @Autowired
     private UserClient userClient;
 
+    @Autowired
+    private PasswordHashExecutor hashExecutor;
+
     /**
-     * Verifies user credentials passed as a JWTRequest
+     * Verifies the user credentials without holding the calling thread while the
+     * password is hashed. The salt is looked up on the calling thread, the hash
+     * runs on the {@link PasswordHashExecutor} and the credentials are checked on
+     * its credential check pool, so no database call runs on a hashing thread and
+     * logins never queue behind other background work.
      *
      * @param email    Entered email at login.
      * @param password Password entered at login.
-     * @throws Exception Throw an exception if the credentials do not match.
+     * @return {@link CompletableFuture} of the user, completed with an exception
+     *         if the credentials do not match.
+     * @throws Exception If there is no user for the email or the hashing backlog
+     *                   is full.
      */
-    public User verifyUser(String email, String password) throws Exception {
-        return authDao.authenticateUser(email,
-                PasswordUtil.hashPassword(new AuthPassword(password, authDao.getUserAuthPassword(email).getSalt())));
+    public CompletableFuture<User> verifyUser(String email, String password) throws Exception {
+        long salt = authDao.getUserAuthPassword(email).getSalt();
+        return hashExecutor.submit(() -> PasswordUtil.hashPassword(new AuthPassword(password, salt)))
+                .thenApplyAsync(hash -> {
+                    try {
+                        return authDao.authenticateUser(email, hash);
+                    } catch (Exception e) {
+                        throw new CompletionException(e);
+                    }
+                }, hashExecutor.getCheckExecutor());
     }
 
     /**
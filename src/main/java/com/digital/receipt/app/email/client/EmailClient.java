@@ -7,6 +7,8 @@ import javax.mail.MessagingException;
 import com.digital.receipt.annotations.interfaces.Client;
 import com.digital.receipt.app.email.client.domain.UserEmail;
 import com.digital.receipt.app.email.rest.EmailController;
+import com.digital.receipt.app.email.service.EmailService;
+import com.digital.receipt.app.user.client.domain.User;
 
 import org.springframework.beans.factory.annotation.Autowired;
 
@@ -22,6 +24,9 @@ public class EmailClient {
     @Autowired
     private EmailController controller;
 
+    @Autowired
+    private EmailService emailService;
+
     /**
      * {@link UserEmail} object to send a email too. Default from user will be the
      * admin email.
@@ -44,4 +49,16 @@ public class EmailClient {
     public void forgotPassword(String email) throws Exception {
         controller.forgotPassword(email);
     }
+
+    /**
+     * This will send a forgot password link to the given user. The user has
+     * already been looked up by the caller so this goes straight to the service
+     * and the email is sent in the background.
+     * 
+     * @param user The user to send the forgot password email too.
+     * @throws Exception If the email content can not be built.
+     */
+    public void forgotPassword(User user) throws Exception {
+        emailService.sendForgotPasswordEmail(user);
+    }
 }
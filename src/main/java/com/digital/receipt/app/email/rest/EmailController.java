@@ -8,6 +8,7 @@ import com.digital.receipt.annotations.interfaces.HasAccess;
 import com.digital.receipt.annotations.interfaces.RestApiController;
 import com.digital.receipt.app.email.client.domain.UserEmail;
 import com.digital.receipt.app.email.service.EmailService;
+import com.digital.receipt.app.user.client.domain.User;
 import com.digital.receipt.common.enums.WebRole;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -45,7 +46,7 @@ public class EmailController {
 
     /**
      * This will send a forgot password link to the given user. If the email exists
-     * in the database then the link will be sent.
+     * in the database then the link will be sent in the background.
      * 
      * @param email Email to search for and send an email too.
      * @throws Exception
@@ -53,6 +54,9 @@ public class EmailController {
     @PostMapping("/forgot-password")
     @HasAccess(WebRole.ADMIN)
     public void forgotPassword(@RequestBody String email) throws Exception {
-        emailService.forgotPassword(email);
+        User user = emailService.getForgotPasswordUser(email);
+        if (user != null) {
+            emailService.sendForgotPasswordEmail(user);
+        }
     }
 }
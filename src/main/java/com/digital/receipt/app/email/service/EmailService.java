@@ -14,7 +14,6 @@ import javax.mail.internet.MimeMessage;
 import com.digital.receipt.app.email.client.domain.UserEmail;
 import com.digital.receipt.app.user.client.UserClient;
 import com.digital.receipt.app.user.client.domain.User;
-import com.digital.receipt.common.exceptions.SqlFragmentNotFoundException;
 import com.digital.receipt.jwt.utility.JwtTokenUtil;
 import com.google.common.collect.Sets;
 import com.digital.receipt.app.user.client.domain.request.UserGetRequest;
@@ -22,6 +21,7 @@ import com.digital.receipt.app.user.client.domain.request.UserGetRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
 /**
@@ -35,6 +35,8 @@ public class EmailService {
 
     private final String RESET_LINK = "http://www.digital-receipt-reader.com/reset-password/";
 
+    private volatile String forgotPasswordTemplate;
+
     @Autowired
     private JavaMailSender javaMailSender;
 
@@ -68,27 +70,34 @@ public class EmailService {
     }
 
     /**
-     * This will send a forgot password link to the given user. If the email exists
-     * in the database then the link will be sent.
+     * Finds the user to send the forgot password email to. The email is sent with
+     * {@link #sendForgotPasswordEmail(User)}, which has to be called through the
+     * bean rather than from in here so it runs asynchronously.
      * 
-     * @param email Email to search for and send an email too.
-     * @return {@link User} object of the found user
-     * @throws MessagingException           If an error occurs processing the
-     *                                      message
-     * @throws SqlFragmentNotFoundException The name of the fragment for sql is not
-     *                                      found.
-     * @throws IOException                  If the forgot password file can not be
-     *                                      found.
+     * @param email Email to search for.
+     * @return {@link User} with the email, or null if there is none.
+     * @throws Exception If the users can not be read.
      */
-    public void forgotPassword(String email) throws MessagingException, Exception {
-        String content = getForgotPasswordContent(email);
-
-        if ("".equals(content)) {
-            return;
-        } else {
-            sendEmail(buildUserEmail("ridgecampusdigitalreceipt@outlook.com", email, "Forgot Password", content), true);
-        }
+    public User getForgotPasswordUser(String email) throws Exception {
+        UserGetRequest request = new UserGetRequest();
+        request.setEmail(Sets.newHashSet(email));
+        List<User> users = userClient.getUsers(request);
+        return users.isEmpty() ? null : users.get(0);
+    }
 
+    /**
+     * Sends the forgot password email to the given user. The user has already been
+     * resolved by the caller so the token and template are built straight from it.
+     * This is run asynchronously so the request does not wait on the mail server.
+     * 
+     * @param user The user to send the forgot password email too.
+     * @throws MessagingException If an error occurs processing the message
+     * @throws IOException        If the forgot password file can not be found.
+     */
+    @Async
+    public void sendForgotPasswordEmail(User user) throws MessagingException, IOException {
+        sendEmail(buildUserEmail("ridgecampusdigitalreceipt@outlook.com", user.getEmail(), "Forgot Password",
+                getForgotPasswordContent(user)), true);
     }
 
     /**
@@ -99,7 +108,7 @@ public class EmailService {
      * @param subject What the main subject of the email is.
      * @param body    What is contained in the email body
      * @return {@link UserEmail}
-     * @see #forgotPassword(String)
+     * @see #sendForgotPasswordEmail(User)
      */
     private UserEmail buildUserEmail(String from, String to, String subject, String body) {
         UserEmail userEmail = new UserEmail();
@@ -111,28 +120,32 @@ public class EmailService {
     }
 
     /**
-     * This will build out the reset password link that will be sent with the email.
-     * If the users email does not exist this method will return an empty string and
-     * it will not send an email.
+     * This will build out the reset password link that will be sent with the email
+     * for the given user.
      * 
-     * @param email The users email to search for and send an email too.
+     * @param user The user to build the email content for.
      * @return {@link String} of the email content with the replaced link.
-     * @throws Exception
+     * @throws IOException If the forgot password file can not be read.
      */
-    private String getForgotPasswordContent(String email) throws Exception {
-        String filePath = "src/main/java/com/digital/receipt/app/email/client/domain/ForgotPasswordEmail.html";
-        BufferedReader br = new BufferedReader(new FileReader(filePath));
-        String emailContent = br.lines().collect(Collectors.joining(" "));
-        br.close();
-
-        UserGetRequest request = new UserGetRequest();
-        request.setEmail(Sets.newHashSet(email));
-        List<User> users = userClient.getUsers(request);
+    private String getForgotPasswordContent(User user) throws IOException {
+        return getForgotPasswordTemplate().replace("::FORGOT_PASSWORD_LINK::", RESET_LINK + getAuthToken(user));
+    }
 
-        if (users.size() < 1)
-            return "";
-        else
-            return emailContent.replace("::FORGOT_PASSWORD_LINK::", RESET_LINK + getAuthToken(users.get(0)));
+    /**
+     * Gets the forgot password email template. The file is only read the first time
+     * it is needed, after that the cached content is used.
+     * 
+     * @return {@link String} of the email template.
+     * @throws IOException If the forgot password file can not be read.
+     */
+    private String getForgotPasswordTemplate() throws IOException {
+        if (forgotPasswordTemplate == null) {
+            String filePath = "src/main/java/com/digital/receipt/app/email/client/domain/ForgotPasswordEmail.html";
+            BufferedReader br = new BufferedReader(new FileReader(filePath));
+            forgotPasswordTemplate = br.lines().collect(Collectors.joining(" "));
+            br.close();
+        }
+        return forgotPasswordTemplate;
     }
 
     /**
@@ -0,0 +1,100 @@
+package com.digital.receipt.app.metrics.client.domain;
+
+/**
+ * Summary of the timings for a single phase of a dao fragment. All times are in
+ * milliseconds.
+ * 
+ * @author Sam Butler
+ * @since October 19, 2026
+ */
+public class QueryPhaseSummary {
+    private String dao;
+
+    private String fragment;
+
+    private String phase;
+
+    private long count;
+
+    private double mean;
+
+    private double max;
+
+    private double p50;
+
+    private double p99;
+
+    private double p999;
+
+    public String getDao() {
+        return dao;
+    }
+
+    public void setDao(String dao) {
+        this.dao = dao;
+    }
+
+    public String getFragment() {
+        return fragment;
+    }
+
+    public void setFragment(String fragment) {
+        this.fragment = fragment;
+    }
+
+    public String getPhase() {
+        return phase;
+    }
+
+    public void setPhase(String phase) {
+        this.phase = phase;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    public void setMean(double mean) {
+        this.mean = mean;
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    public void setMax(double max) {
+        this.max = max;
+    }
+
+    public double getP50() {
+        return p50;
+    }
+
+    public void setP50(double p50) {
+        this.p50 = p50;
+    }
+
+    public double getP99() {
+        return p99;
+    }
+
+    public void setP99(double p99) {
+        this.p99 = p99;
+    }
+
+    public double getP999() {
+        return p999;
+    }
+
+    public void setP999(double p999) {
+        this.p999 = p999;
+    }
+}
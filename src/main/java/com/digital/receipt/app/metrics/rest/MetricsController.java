@@ -0,0 +1,38 @@
+package com.digital.receipt.app.metrics.rest;
+
+import java.util.List;
+
+import com.digital.receipt.annotations.interfaces.HasAccess;
+import com.digital.receipt.annotations.interfaces.RestApiController;
+import com.digital.receipt.app.metrics.client.domain.QueryPhaseSummary;
+import com.digital.receipt.app.metrics.service.MetricsService;
+import com.digital.receipt.common.enums.WebRole;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+/**
+ * Metrics Controller for looking at how the application is performing.
+ * 
+ * @author Sam Butler
+ * @since October 19, 2026
+ */
+@RequestMapping("api/metrics-app")
+@RestApiController
+public class MetricsController {
+    @Autowired
+    private MetricsService metricsService;
+
+    /**
+     * Gets the render, acquire, execute and map timings for every dao fragment
+     * that has been run.
+     * 
+     * @return List of {@link QueryPhaseSummary} objects.
+     */
+    @GetMapping("/sql")
+    @HasAccess(WebRole.ADMIN)
+    public List<QueryPhaseSummary> getSqlMetrics() {
+        return metricsService.getSqlMetrics();
+    }
+}
@@ -0,0 +1,72 @@
+package com.digital.receipt.app.metrics.service;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import com.digital.receipt.app.metrics.client.domain.QueryPhaseSummary;
+import com.digital.receipt.sql.metrics.SqlMetrics;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+
+/**
+ * Metrics Service for reading the recorded query timings.
+ * 
+ * @author Sam Butler
+ * @since October 19, 2026
+ */
+@Service
+public class MetricsService {
+
+    @Autowired
+    private MeterRegistry registry;
+
+    /**
+     * Gets the timing summary of every dao fragment phase that has been run,
+     * ordered by the slowest p99 first.
+     * 
+     * @return List of {@link QueryPhaseSummary} objects.
+     */
+    public List<QueryPhaseSummary> getSqlMetrics() {
+        return registry.find(SqlMetrics.QUERY_TIMER).timers().stream().map(this::summarize)
+                .sorted(Comparator.comparingDouble(QueryPhaseSummary::getP99).reversed())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Builds the summary for a single fragment phase timer.
+     * 
+     * @param timer The timer to summarize.
+     * @return {@link QueryPhaseSummary} of the timer.
+     */
+    private QueryPhaseSummary summarize(Timer timer) {
+        HistogramSnapshot snapshot = timer.takeSnapshot();
+
+        QueryPhaseSummary summary = new QueryPhaseSummary();
+        summary.setDao(timer.getId().getTag("dao"));
+        summary.setFragment(timer.getId().getTag("fragment"));
+        summary.setPhase(timer.getId().getTag("phase"));
+        summary.setCount(snapshot.count());
+        summary.setMean(snapshot.mean(TimeUnit.MILLISECONDS));
+        summary.setMax(snapshot.max(TimeUnit.MILLISECONDS));
+
+        for (ValueAtPercentile value : snapshot.percentileValues()) {
+            double millis = value.value(TimeUnit.MILLISECONDS);
+            if (value.percentile() == 0.5) {
+                summary.setP50(millis);
+            } else if (value.percentile() == 0.99) {
+                summary.setP99(millis);
+            } else if (value.percentile() == 0.999) {
+                summary.setP999(millis);
+            }
+        }
+        return summary;
+    }
+}
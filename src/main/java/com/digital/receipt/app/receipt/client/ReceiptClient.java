@@ -9,6 +9,7 @@ import com.digital.receipt.app.receipt.client.domain.request.ReceiptGetRequest;
 import com.digital.receipt.app.receipt.rest.ReceiptController;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.multipart.MultipartFile;
 
 /**
  * This class exposes the user endpoint's to other app's to pull data across the
@@ -65,6 +66,16 @@ public class ReceiptClient {
         return controller.getAutoIncrementReceiptDetails();
     }
 
+    /**
+     * Reserves a unique name that a receipt can be uploaded under.
+     * 
+     * @return {@link Long} of the reserved name.
+     * @throws Exception
+     */
+    public long reserveReceiptName() throws Exception {
+        return controller.reserveReceiptName();
+    }
+
     /**
      * This will get the {@link String} url path that routes to the user receipt.
      * This will take in a public id to get the receipt for. This will throw an
@@ -90,6 +101,49 @@ public class ReceiptClient {
         return controller.insertReceipt(rec);
     }
 
+    /**
+     * Creates the receipt and associates it to the current user in one call.
+     * 
+     * @param receipt The receipt to create.
+     * @return {@link Receipt} of the created receipt.
+     * @throws Exception
+     */
+    public Receipt insertCurrentUserReceipt(Receipt receipt) throws Exception {
+        return controller.insertCurrentUserReceipt(receipt);
+    }
+
+    /**
+     * Uploads the image of a receipt and creates the receipt for the current user
+     * in one call.
+     * 
+     * @param file     The image of the receipt.
+     * @param location The location of the receipt, if any.
+     * @param label    The label of the receipt, if any.
+     * @param notes    The notes of the receipt, if any.
+     * @return {@link Receipt} of the created receipt.
+     * @throws Exception
+     */
+    public Receipt uploadCurrentUserReceipt(MultipartFile file, String location, String label, String notes)
+            throws Exception {
+        return controller.uploadCurrentUserReceipt(file, location, label, notes);
+    }
+
+    /**
+     * Starts the backfill of the asset url and metadata for receipts that do not
+     * have them stored. The backfill runs in the background.
+     */
+    public void backfillReceiptAssets() {
+        controller.backfillReceiptAssets();
+    }
+
+    /**
+     * Starts the backfill of the content hash for receipts that do not have one
+     * stored. The backfill runs in the background.
+     */
+    public void backfillReceiptContentHashes() {
+        controller.backfillReceiptContentHashes();
+    }
+
     /**
      * This will associate the passed in receipt id to the given user id.
      * 
@@ -2,8 +2,11 @@ package com.digital.receipt.app.receipt.client.domain;
 
 import java.util.Date;
 
+import com.digital.receipt.service.cloudinary.domain.CloudinaryAsset;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonProperty.Access;
 
 /**
  * Receipt object to map the receipt data to.
@@ -27,6 +30,28 @@ public class Receipt {
 
     private String url;
 
+    @JsonInclude(Include.NON_NULL)
+    private String thumbnailUrl;
+
+    @JsonInclude(Include.NON_NULL)
+    private String format;
+
+    @JsonInclude(Include.NON_NULL)
+    private Long bytes;
+
+    @JsonInclude(Include.NON_NULL)
+    private Integer width;
+
+    @JsonInclude(Include.NON_NULL)
+    private Integer height;
+
+    @JsonInclude(Include.NON_NULL)
+    private Long version;
+
+    @JsonInclude(Include.NON_NULL)
+    @JsonProperty(access = Access.READ_ONLY)
+    private String contentHash;
+
     private Date insertDate;
 
     public Receipt() {
@@ -99,6 +124,76 @@ public class Receipt {
         this.url = url;
     }
 
+    public String getThumbnailUrl() {
+        return thumbnailUrl;
+    }
+
+    public void setThumbnailUrl(String thumbnailUrl) {
+        this.thumbnailUrl = thumbnailUrl;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public void setFormat(String format) {
+        this.format = format;
+    }
+
+    public Long getBytes() {
+        return bytes;
+    }
+
+    public void setBytes(Long bytes) {
+        this.bytes = bytes;
+    }
+
+    public Integer getWidth() {
+        return width;
+    }
+
+    public void setWidth(Integer width) {
+        this.width = width;
+    }
+
+    public Integer getHeight() {
+        return height;
+    }
+
+    public void setHeight(Integer height) {
+        this.height = height;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    /**
+     * Sets the url and metadata of the stored asset on the receipt.
+     * 
+     * @param asset The asset of the receipt.
+     */
+    public void setAsset(CloudinaryAsset asset) {
+        this.url = asset.getUrl();
+        this.format = asset.getFormat();
+        this.bytes = asset.getBytes();
+        this.width = asset.getWidth();
+        this.height = asset.getHeight();
+        this.version = asset.getVersion();
+    }
+
     public Date getInsertDate() {
         return insertDate;
     }
@@ -2,14 +2,24 @@ package com.digital.receipt.app.receipt.dao;
 
 import static com.digital.receipt.app.receipt.mapper.ReceiptMapper.RECEIPT_MAPPER;
 
-import java.util.Date;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import com.digital.receipt.app.receipt.client.domain.Receipt;
 import com.digital.receipt.app.receipt.client.domain.request.ReceiptGetRequest;
 import com.digital.receipt.common.abstracts.AbstractSqlDao;
+import com.digital.receipt.common.enums.VersionedResource;
+import com.digital.receipt.service.version.ResourceVersionService;
+import com.digital.receipt.sql.domain.RowConsumer;
+import com.digital.receipt.sql.domain.SqlParams;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -21,8 +31,14 @@ import org.springframework.stereotype.Repository;
 @Repository
 public class ReceiptDao extends AbstractSqlDao {
 
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
     /**
-     * Get the receipt for the given receipt id.
+     * Get the receipt for the given receipt id. A receipt can belong to more than
+     * one user, so only the receipt details are returned and the user fields are
+     * left empty. Use {@link #getCurrentUserReceiptById(int, int)} for a user's
+     * location, label and notes.
      * 
      * @param id The id of the receipt to get
      * @return {@link Receipt} of the id.
@@ -40,11 +56,19 @@ public class ReceiptDao extends AbstractSqlDao {
      * @throws Exception
      */
     public List<Receipt> getReceipts(ReceiptGetRequest request) throws Exception {
-        return sqlClient.getPage(getSql("getReceipts"),
-                params("id", request.getId()).addValue("userId", request.getUserId())
-                        .addValue("location", request.getLocation()).addValue("label", request.getLabel())
-                        .addValue("notes", request.getNotes()),
-                RECEIPT_MAPPER);
+        return sqlClient.getPage(getSql("getReceipts"), getReceiptsParams(request), RECEIPT_MAPPER);
+    }
+
+    /**
+     * This will stream all the receipts based on the {@link ReceiptGetRequest} to
+     * the given consumer one row at a time instead of building out the full list.
+     * 
+     * @param request  The request to filter the receipts on.
+     * @param consumer What to do with each receipt as it is read.
+     * @throws Exception
+     */
+    public void streamReceipts(ReceiptGetRequest request, RowConsumer<Receipt> consumer) throws Exception {
+        sqlClient.stream(getSql("getReceipts"), getReceiptsParams(request), RECEIPT_MAPPER, consumer);
     }
 
     /**
@@ -75,16 +99,195 @@ public class ReceiptDao extends AbstractSqlDao {
     }
 
     /**
-     * This will create the receipt in the database for the given userId and the
-     * receipt data to be attatched.
+     * Get the next page of up to 100 receipts, in id order, that do not have their
+     * asset url and metadata stored yet. A receipt has a row for each user it
+     * belongs to.
      * 
-     * @param receipt UserEmail object to get the mail properties from
+     * @param lastId The id of the last receipt of the previous page, or 0.
+     * @return {@link List<Receipt>} of the receipts after the id.
+     * @throws Exception
+     */
+    public List<Receipt> getReceiptsMissingAsset(int lastId) throws Exception {
+        return sqlClient.getPage(getSql("getReceiptsMissingAsset"), params("lastId", lastId), RECEIPT_MAPPER);
+    }
+
+    /**
+     * Get the next page of up to 100 receipts, in id order, that have a stored
+     * asset but no content hash yet. A receipt has a row for each user it belongs
+     * to.
+     * 
+     * @param lastId The id of the last receipt of the previous page, or 0.
+     * @return {@link List<Receipt>} of the receipts after the id.
+     * @throws Exception
+     */
+    public List<Receipt> getReceiptsMissingContentHash(int lastId) throws Exception {
+        return sqlClient.getPage(getSql("getReceiptsMissingContentHash"), params("lastId", lastId),
+                RECEIPT_MAPPER);
+    }
+
+    /**
+     * This will create the receipt in the database along with the asset url and
+     * metadata set on it.
+     * 
+     * @param receipt The receipt to create, with the public id set.
      * @return {@link Receipt} of the added receipt.
      * @throws Exception
      */
-    public Receipt insertReceipt(String publicId) throws Exception {
-        Optional<Integer> id = sqlClient.post(getSql("insertUserReceipt"), params("name", publicId));
-        return new Receipt(id.get(), publicId, new Date());
+    public Receipt insertReceipt(Receipt receipt) throws Exception {
+        return sqlClient.transaction(() -> {
+            receipt.setId(insertReceiptDetails(receipt));
+            return receipt;
+        });
+    }
+
+    /**
+     * Inserts the receipt details row and stores the asset and content hash of the
+     * receipt if it has them.
+     * 
+     * @param receipt The receipt to insert.
+     * @return {@link int} of the new receipt id.
+     * @throws Exception
+     */
+    private int insertReceiptDetails(Receipt receipt) throws Exception {
+        Optional<Integer> id = sqlClient.post(getSql("insertUserReceipt"),
+                params("name", receipt.getFilePublicId()));
+        if (receipt.getUrl() != null) {
+            receipt.setId(id.get());
+            updateReceiptAssets(Collections.singletonList(receipt));
+        }
+        if (receipt.getContentHash() != null) {
+            updateContentHash(id.get(), receipt.getContentHash());
+        }
+        return id.get();
+    }
+
+    /**
+     * Stores the asset url and metadata of the given receipts in a single batch.
+     * 
+     * @param receipts The receipts to store the asset of.
+     * @throws Exception
+     */
+    public void updateReceiptAssets(List<Receipt> receipts) throws Exception {
+        sqlClient.batch(getSql("updateReceiptAsset"),
+                receipts.stream().map(r -> params("url", r.getUrl()).addValue("format", r.getFormat())
+                        .addValue("bytes", r.getBytes()).addValue("width", r.getWidth())
+                        .addValue("height", r.getHeight()).addValue("version", r.getVersion())
+                        .addValue("id", r.getId())).collect(Collectors.toList()));
+        bumpOwners(receipts);
+    }
+
+    /**
+     * Creates the receipt and associates it to the user of the receipt in a single
+     * transaction. The asset and any details set on the receipt are saved with
+     * it.
+     * 
+     * @param receipt The receipt to create, with the public id and user id set.
+     * @return {@link Receipt} of the created receipt.
+     * @throws Exception
+     */
+    public Receipt insertUserReceipt(Receipt receipt) throws Exception {
+        return sqlClient.transaction(() -> {
+            int id = insertReceiptDetails(receipt);
+            associateUserToReceipt(id, receipt.getUserId());
+
+            if (receipt.getLocation() != null || receipt.getLabel() != null || receipt.getNotes() != null) {
+                receipt.setId(id);
+                updateCurrentUserAssociation(receipt);
+            }
+            return getCurrentUserReceiptById(id, receipt.getUserId());
+        });
+    }
+
+    /**
+     * Associates the user of the receipt to the stored receipt with the same
+     * content hash, if there is one. The stored receipt is locked while the
+     * association is written so it can not be deleted out from under it. Any
+     * details set on the receipt are saved on the association.
+     * 
+     * @param receipt The receipt with the content hash and user id set.
+     * @return {@link Receipt} of the stored receipt for the user, or null if no
+     *         receipt has the content hash.
+     * @throws Exception
+     */
+    public Receipt associateUserToContentHash(Receipt receipt) throws Exception {
+        return sqlClient.transaction(() -> {
+            List<Receipt> stored = sqlClient.getPage(getSql("getReceiptsByContentHashForUpdate"),
+                    params("contentHash", receipt.getContentHash()), RECEIPT_MAPPER);
+            if (stored.isEmpty()) {
+                return null;
+            }
+
+            int id = stored.get(0).getId();
+            if (stored.stream().noneMatch(r -> r.getUserId() == receipt.getUserId())) {
+                associateUserToReceipt(id, receipt.getUserId());
+            }
+
+            if (receipt.getLocation() != null || receipt.getLabel() != null || receipt.getNotes() != null) {
+                receipt.setId(id);
+                updateCurrentUserAssociation(receipt);
+            }
+            return getCurrentUserReceiptById(id, receipt.getUserId());
+        });
+    }
+
+    /**
+     * Stores the content hash of the receipt. If another receipt already has the
+     * same content the users of this receipt are moved over to it and this receipt
+     * is marked deleted, so its asset is purged by the receipt compaction. A user
+     * that already has the other receipt keeps their details on it.
+     * 
+     * @param receipt     The receipt to store the content hash of.
+     * @param contentHash The content hash of the receipt.
+     * @return {@link boolean} if the receipt was merged into another receipt.
+     * @throws Exception
+     */
+    public boolean storeContentHash(Receipt receipt, String contentHash) throws Exception {
+        return sqlClient.transaction(() -> {
+            List<Receipt> stored = sqlClient.getPage(getSql("getReceiptsByContentHashForUpdate"),
+                    params("contentHash", contentHash), RECEIPT_MAPPER);
+            if (stored.isEmpty()) {
+                updateContentHash(receipt.getId(), contentHash);
+                return false;
+            }
+
+            int id = stored.get(0).getId();
+            if (id == receipt.getId()) {
+                return false;
+            }
+
+            List<Receipt> duplicates = lockReceiptsForDelete(Collections.singleton(receipt.getId()), null);
+            sqlClient.update(getSql("mergeReceiptAssociations"),
+                    params("id", id).addValue("duplicateId", receipt.getId()));
+            sqlClient.delete(getSql("deleteReceiptAssociations"), params("id", receipt.getId()));
+            markReceiptRecordsDeleted(duplicates);
+            return true;
+        });
+    }
+
+    /**
+     * Sets the content hash of the receipt.
+     * 
+     * @param id          The id of the receipt.
+     * @param contentHash The content hash to set.
+     * @throws Exception
+     */
+    private void updateContentHash(int id, String contentHash) throws Exception {
+        sqlClient.update(getSql("updateContentHash"), params("contentHash", contentHash).addValue("id", id));
+    }
+
+    /**
+     * Reserves a new block of receipt names. The id of the block is the high value
+     * of the names in it.
+     * 
+     * @return {@link Long} of the reserved block id.
+     * @throws Exception If the id of the reserved block could not be read.
+     */
+    public long reserveReceiptNameBlock() throws Exception {
+        int id = sqlClient.post(getSql("reserveReceiptNameBlock"), params("", null)).get();
+        if (id < 1) {
+            throw new Exception("Could not read the id of the reserved receipt name block.");
+        }
+        return id;
     }
 
     /**
@@ -97,6 +300,7 @@ public class ReceiptDao extends AbstractSqlDao {
      */
     public void associateUserToReceipt(int receiptId, int userId) throws Exception {
         sqlClient.post(getSql("associateUserToReceipt"), params("id", receiptId).addValue("userId", userId));
+        resourceVersionService.bump(VersionedResource.RECEIPT, userId);
     }
 
     /**
@@ -113,19 +317,268 @@ public class ReceiptDao extends AbstractSqlDao {
                     params("location", receipt.getLocation()).addValue("label", receipt.getLabel())
                             .addValue("notes", receipt.getNotes()).addValue("id", receipt.getId())
                             .addValue("userId", receipt.getUserId()));
+            resourceVersionService.bump(VersionedResource.RECEIPT, receipt.getUserId());
         } catch (Exception e) {
             throw new Exception(String.format("User id %d does not have access to receipt id %d", receipt.getUserId(),
                     receipt.getId()));
         }
     }
 
+    /**
+     * Updates the location, label and notes of many of the user's receipts in one
+     * transaction. Ownership of every receipt is checked and the rows are locked
+     * with a single query, then the updates are run as one prepared statement
+     * batch. Fields left null on a receipt keep their stored value.
+     * 
+     * @param userId   The user the receipts belong to.
+     * @param receipts The receipts to update.
+     * @return {@link List<Receipt>} of the stored receipts with the updates
+     *         applied, in the order they were given.
+     * @throws Exception If the user does not own one of the receipts.
+     */
+    public List<Receipt> updateCurrentUserAssociations(int userId, List<Receipt> receipts) throws Exception {
+        Set<Integer> ids = receipts.stream().map(r -> r.getId()).collect(Collectors.toSet());
+        return sqlClient.transaction(() -> {
+            Map<Integer, Receipt> stored = sqlClient
+                    .getPage(getSql("getCurrentUserReceiptsForUpdate"), params("id", ids).addValue("userId", userId),
+                            RECEIPT_MAPPER)
+                    .stream().collect(Collectors.toMap(r -> r.getId(), Function.identity()));
+            if (stored.size() != ids.size()) {
+                Set<Integer> missing = new HashSet<>(ids);
+                missing.removeAll(stored.keySet());
+                throw new Exception(
+                        String.format("User id %d does not have access to receipt ids %s", userId, missing));
+            }
+
+            sqlClient.batch(getSql("updateCurrentUserAssociations"),
+                    receipts.stream().map(r -> params("location", r.getLocation()).addValue("label", r.getLabel())
+                            .addValue("notes", r.getNotes()).addValue("id", r.getId()).addValue("userId", userId))
+                            .collect(Collectors.toList()));
+            resourceVersionService.bump(VersionedResource.RECEIPT, userId);
+
+            return receipts.stream().map(r -> mapNonNullAssociationFields(r, stored.get(r.getId())))
+                    .collect(Collectors.toList());
+        });
+    }
+
+    /**
+     * Deletes the receipts for the given ids, or all the receipts of the user if
+     * no ids are given. The receipts are locked and read with one query and
+     * deleted with a second, in one transaction, so the cost does not grow with
+     * the number of receipts. The urls of the receipts are never resolved. When a
+     * user is given only their association is removed from receipts that other
+     * users still have. An empty set of ids deletes nothing.
+     * 
+     * @param ids    The ids of the receipts to delete, or null.
+     * @param userId The user the receipts must belong to, or null for any user.
+     * @param soft   If the receipts should only be marked deleted.
+     * @return {@link List<Receipt>} of the receipts that were removed, for their
+     *         public ids.
+     * @throws Exception If neither ids nor a user are given.
+     */
+    public List<Receipt> deleteReceipts(Set<Integer> ids, Integer userId, boolean soft) throws Exception {
+        if (ids == null && userId == null) {
+            throw new Exception("Receipt ids or a user id are required to delete receipts.");
+        }
+        if (ids != null && ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        return sqlClient.transaction(() -> {
+            List<Receipt> receipts = lockReceiptsForDelete(ids, userId);
+            return receipts.isEmpty() ? receipts : removeReceiptRecords(receipts, userId, soft);
+        });
+    }
+
+    /**
+     * Deletes the given receipts of the user. Nothing is deleted unless the user
+     * owns every one of them. Receipts that other users still have only lose the
+     * association to the user. An empty set of ids deletes nothing.
+     * 
+     * @param ids    The ids of the receipts to delete.
+     * @param userId The user the receipts belong to.
+     * @param soft   If the receipts should only be marked deleted.
+     * @return {@link List<Receipt>} of the receipts that were removed, for their
+     *         public ids.
+     * @throws Exception If the user does not own one of the receipts.
+     */
+    public List<Receipt> deleteCurrentUserReceipts(Set<Integer> ids, int userId, boolean soft) throws Exception {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        return sqlClient.transaction(() -> {
+            List<Receipt> receipts = lockReceiptsForDelete(ids, userId);
+            if (receipts.size() != ids.size()) {
+                Set<Integer> missing = new HashSet<>(ids);
+                receipts.forEach(r -> missing.remove(r.getId()));
+                throw new Exception(
+                        String.format("User id %d does not have access to receipt ids %s", userId, missing));
+            }
+
+            return removeReceiptRecords(receipts, userId, soft);
+        });
+    }
+
+    /**
+     * Locks and reads the receipts that are about to be deleted.
+     * 
+     * @param ids    The ids of the receipts, or null.
+     * @param userId The user the receipts belong to, or null.
+     * @return {@link List<Receipt>} of the locked receipts.
+     * @throws Exception
+     */
+    private List<Receipt> lockReceiptsForDelete(Set<Integer> ids, Integer userId) throws Exception {
+        return sqlClient.getPage(getSql("getReceiptsForDelete"), params("id", ids).addValue("userId", userId),
+                RECEIPT_MAPPER);
+    }
+
+    /**
+     * Claims the next batch of receipts that are marked deleted, oldest first, so
+     * they can be purged. The batch is selected with skip locked and stamped as
+     * claimed in one short transaction, so compactions running on several
+     * instances at once each get different receipts instead of purging the same
+     * ones twice. A claim that is over an hour old is taken to be from a run that
+     * stopped, and the receipts can be claimed again.
+     * 
+     * @return {@link List<Receipt>} of the claimed receipts, empty when there is
+     *         nothing left to purge.
+     * @throws Exception
+     */
+    public List<Receipt> claimDeletedReceipts() throws Exception {
+        return sqlClient.transaction(() -> {
+            List<Receipt> batch = sqlClient.getPage(getSql("getDeletedReceiptsForUpdate"), params("", null),
+                    RECEIPT_MAPPER);
+            if (!batch.isEmpty()) {
+                sqlClient.update(getSql("claimDeletedReceipts"),
+                        params("id", batch.stream().map(r -> r.getId()).collect(Collectors.toList())));
+            }
+            return batch;
+        });
+    }
+
+    /**
+     * Deletes the claimed receipts once their files are removed. Only receipts
+     * that are still marked deleted are removed.
+     * 
+     * @param recs The claimed receipts to be deleted.
+     * @throws Exception
+     */
+    public void deleteClaimedReceipts(List<Receipt> recs) throws Exception {
+        sqlClient.transaction(() -> {
+            sqlClient.delete(getSql("deleteClaimedReceipts"),
+                    params("id", recs.stream().map(r -> r.getId()).collect(Collectors.toList())));
+            bumpOwners(recs);
+            return null;
+        });
+    }
+
+    /**
+     * Marks the receipts deleted or deletes them. If a user is given their
+     * association is removed first and only the receipts no other user has are
+     * removed, so an asset shared by duplicate uploads is kept while it is still
+     * in use.
+     * 
+     * @param recs   The locked receipts to be removed.
+     * @param userId The user removing the receipts, or null to remove them for
+     *               every user.
+     * @param soft   If the receipts should only be marked deleted.
+     * @return {@link List<Receipt>} of the receipts that were removed, one per id.
+     * @throws Exception
+     */
+    private List<Receipt> removeReceiptRecords(List<Receipt> recs, Integer userId, boolean soft) throws Exception {
+        List<Integer> ids = recs.stream().map(r -> r.getId()).distinct().collect(Collectors.toList());
+        List<Receipt> removed = recs;
+        if (userId != null) {
+            sqlClient.delete(getSql("deleteReceiptAssociations"), params("id", ids).addValue("userId", userId));
+            resourceVersionService.bump(VersionedResource.RECEIPT, userId);
+
+            Set<Integer> shared = sqlClient.getListMap(getSql("getAssociatedReceiptIds"), params("id", ids))
+                    .stream().map(row -> ((Number) row.get("receipt_id")).intValue()).collect(Collectors.toSet());
+            removed = recs.stream().filter(r -> !shared.contains(r.getId())).collect(Collectors.toList());
+            if (removed.isEmpty()) {
+                return removed;
+            }
+        }
+
+        if (soft) {
+            markReceiptRecordsDeleted(removed);
+        } else {
+            deleteReceiptRecords(removed);
+        }
+        Set<Integer> seen = new HashSet<>();
+        return removed.stream().filter(r -> seen.add(r.getId())).collect(Collectors.toList());
+    }
+
+    /**
+     * Marks the given receipts as deleted. They are no longer returned by any
+     * query and are purged by the receipt compaction later. Their content hash is
+     * cleared so a later upload of the same image is not matched to them.
+     * 
+     * @param recs The receipts to be marked.
+     * @throws Exception
+     */
+    public void markReceiptRecordsDeleted(List<Receipt> recs) throws Exception {
+        sqlClient.update(getSql("markReceiptRecordsDeleted"),
+                params("id", recs.stream().map(r -> r.getId()).collect(Collectors.toList())));
+        bumpOwners(recs);
+    }
+
     /**
      * Delete multiple receipt records at a time for the given list of receipts.
      * 
      * @param recs The receipts to be deleted.
      * @throws Exception
      */
-    public void deleteReceiptRecords(List<Integer> recs) throws Exception {
-        sqlClient.delete(getSql("deleteReceiptRecords"), params("id", recs));
+    public void deleteReceiptRecords(List<Receipt> recs) throws Exception {
+        sqlClient.delete(getSql("deleteReceiptRecords"),
+                params("id", recs.stream().map(r -> r.getId()).collect(Collectors.toList())));
+        bumpOwners(recs);
+    }
+
+    /**
+     * Bumps the receipt version of the users that own the given receipts.
+     * Receipts that are not associated to a user are not seen by anyone so there
+     * is nothing to bump for them.
+     * 
+     * @param receipts The receipts that were written.
+     */
+    private void bumpOwners(List<Receipt> receipts) throws Exception {
+        for (int id : receipts.stream().map(r -> r.getUserId()).filter(id -> id > 0).distinct()
+                .collect(Collectors.toList())) {
+            resourceVersionService.bump(VersionedResource.RECEIPT, id);
+        }
+    }
+
+    /**
+     * Sets the non null association fields of the update on the stored receipt.
+     * 
+     * @param update The update that was applied.
+     * @param stored The receipt as it was stored before the update.
+     * @return {@link Receipt} of the stored receipt with the update applied.
+     */
+    private Receipt mapNonNullAssociationFields(Receipt update, Receipt stored) {
+        if (update.getLocation() != null) {
+            stored.setLocation(update.getLocation());
+        }
+        if (update.getLabel() != null) {
+            stored.setLabel(update.getLabel());
+        }
+        if (update.getNotes() != null) {
+            stored.setNotes(update.getNotes());
+        }
+        return stored;
+    }
+
+    /**
+     * Builds out the params for the get receipts query from the request.
+     * 
+     * @param request The request to get the param values from.
+     * @return {@link SqlParams} for the get receipts query.
+     */
+    private SqlParams getReceiptsParams(ReceiptGetRequest request) {
+        return params("id", request.getId()).addValue("userId", request.getUserId())
+                .addValue("location", request.getLocation()).addValue("label", request.getLabel())
+                .addValue("notes", request.getNotes());
     }
 }
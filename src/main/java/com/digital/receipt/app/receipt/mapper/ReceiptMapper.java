@@ -4,28 +4,55 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 
 import com.digital.receipt.app.receipt.client.domain.Receipt;
-
-import org.springframework.jdbc.core.RowMapper;
+import com.digital.receipt.common.abstracts.AbstractIndexedMapper;
 
 /**
- * Mapper class to map a User Profile Object {@link Receipt}
+ * Mapper class to map a User Profile Object {@link Receipt}. The columns are
+ * read by index in the order the ReceiptDao fragments select them.
  * 
  * @author Sam Butler
  * @since June 25, 2020
  */
-public class ReceiptMapper implements RowMapper<Receipt> {
+public class ReceiptMapper extends AbstractIndexedMapper<Receipt> {
     public static ReceiptMapper RECEIPT_MAPPER = new ReceiptMapper();
 
-    public Receipt mapRow(ResultSet rs, int rowNum) throws SQLException {
+    private static final int ID = 1;
+    private static final int FILE_PUBLIC_ID = 2;
+    private static final int URL = 3;
+    private static final int FORMAT = 4;
+    private static final int BYTES = 5;
+    private static final int WIDTH = 6;
+    private static final int HEIGHT = 7;
+    private static final int VERSION = 8;
+    private static final int INSERT_DATE_UTC = 9;
+    private static final int USER_ID = 10;
+    private static final int LOCATION = 11;
+    private static final int LABEL = 12;
+    private static final int NOTES = 13;
+    private static final int CONTENT_HASH = 14;
+
+    public ReceiptMapper() {
+        super("id", "file_public_id", "url", "format", "bytes", "width", "height", "version", "insert_date_utc",
+                "user_id", "location", "label", "notes", "content_hash");
+    }
+
+    protected Receipt mapIndexedRow(ResultSet rs) throws SQLException {
         Receipt receipt = new Receipt();
 
-        receipt.setId(rs.getInt("id"));
-        receipt.setUserId(rs.getInt("user_id"));
-        receipt.setFilePublicId(rs.getString("file_public_id"));
-        receipt.setInsertDate(rs.getDate("insert_date_utc") == null ? null : rs.getDate("insert_date_utc"));
-        receipt.setLocation(rs.getString("location"));
-        receipt.setLabel(rs.getString("label"));
-        receipt.setNotes(rs.getString("notes"));
+        receipt.setId(rs.getInt(ID));
+        receipt.setUserId(rs.getInt(USER_ID));
+        receipt.setFilePublicId(rs.getString(FILE_PUBLIC_ID));
+        receipt.setUrl(rs.getString(URL));
+        receipt.setFormat(rs.getString(FORMAT));
+        receipt.setBytes(rs.getObject(BYTES, Long.class));
+        receipt.setWidth(rs.getObject(WIDTH, Integer.class));
+        receipt.setHeight(rs.getObject(HEIGHT, Integer.class));
+        receipt.setVersion(rs.getObject(VERSION, Long.class));
+        receipt.setInsertDate(rs.getDate(INSERT_DATE_UTC));
+        receipt.setLocation(rs.getString(LOCATION));
+        receipt.setLabel(rs.getString(LABEL));
+        receipt.setNotes(rs.getString(NOTES));
+        receipt.setContentHash(rs.getString(CONTENT_HASH));
 
         return receipt;
     }
@@ -1,16 +1,24 @@
 package com.digital.receipt.app.receipt.rest;
 
+import static org.springframework.http.MediaType.APPLICATION_CBOR_VALUE;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+import static org.springframework.http.MediaType.IMAGE_JPEG_VALUE;
+import static org.springframework.http.MediaType.MULTIPART_FORM_DATA_VALUE;
 
 import java.util.List;
 import java.util.Set;
 
+import javax.servlet.http.HttpServletResponse;
+
+import com.digital.receipt.annotations.interfaces.ETagged;
 import com.digital.receipt.annotations.interfaces.HasAccess;
 import com.digital.receipt.annotations.interfaces.RestApiController;
 import com.digital.receipt.app.receipt.client.domain.Receipt;
 import com.digital.receipt.app.receipt.client.domain.request.ReceiptGetRequest;
 import com.digital.receipt.app.receipt.service.ReceiptService;
+import com.digital.receipt.common.enums.VersionedResource;
 import com.digital.receipt.common.enums.WebRole;
+import com.google.common.collect.Sets;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -21,6 +29,9 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RequestPart;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * Email Controller for dealing with sending emails to users.
@@ -42,7 +53,7 @@ public class ReceiptController {
      * @return {@link Receipt} of the id.
      * @throws Exception
      */
-    @GetMapping(path = "/{id}", produces = APPLICATION_JSON_VALUE)
+    @GetMapping(path = "/{id}", produces = { APPLICATION_JSON_VALUE, APPLICATION_CBOR_VALUE })
     @HasAccess(WebRole.ADMIN)
     public Receipt getReceiptById(@PathVariable int id) throws Exception {
         return service.getReceiptById(id);
@@ -55,12 +66,26 @@ public class ReceiptController {
      * @return {@link List<Receipt>} associated to that user.
      * @throws Exception
      */
-    @GetMapping(produces = APPLICATION_JSON_VALUE)
+    @GetMapping(produces = { APPLICATION_JSON_VALUE, APPLICATION_CBOR_VALUE })
     @HasAccess(WebRole.ADMIN)
     public List<Receipt> getReceipts(ReceiptGetRequest request) throws Exception {
         return service.getReceipts(request);
     }
 
+    /**
+     * This will stream all the receipts based on the {@link ReceiptGetRequest}.
+     * Rows are written to the response as they are read from the database so large
+     * listings do not have to be held in memory.
+     * 
+     * @param request The request to filter the receipts on.
+     * @return {@link StreamingResponseBody} of the receipts.
+     */
+    @GetMapping(path = "/stream", produces = APPLICATION_JSON_VALUE)
+    @HasAccess(WebRole.ADMIN)
+    public StreamingResponseBody streamReceipts(ReceiptGetRequest request) {
+        return service.streamReceipts(request);
+    }
+
     /**
      * This will get a list of all the receipts based on the
      * {@link ReceiptGetRequest} and also append the current user ID to the request.
@@ -68,8 +93,9 @@ public class ReceiptController {
      * @return {@link List<Receipt>} associated to that user.
      * @throws Exception
      */
-    @GetMapping(path = "/current-user", produces = APPLICATION_JSON_VALUE)
+    @GetMapping(path = "/current-user", produces = { APPLICATION_JSON_VALUE, APPLICATION_CBOR_VALUE })
     @HasAccess(WebRole.USER)
+    @ETagged(VersionedResource.RECEIPT)
     public List<Receipt> getCurrentUserReceipts(ReceiptGetRequest request) throws Exception {
         return service.getCurrentUserReceipts(request);
     }
@@ -81,12 +107,28 @@ public class ReceiptController {
      * @return {@link Receipt} of the id.
      * @throws Exception
      */
-    @GetMapping(path = "/current-user/{id}", produces = APPLICATION_JSON_VALUE)
+    @GetMapping(path = "/current-user/{id}", produces = { APPLICATION_JSON_VALUE, APPLICATION_CBOR_VALUE })
     @HasAccess(WebRole.USER)
+    @ETagged(VersionedResource.RECEIPT)
     public Receipt getCurrentUserReceiptById(@PathVariable int id) throws Exception {
         return service.getCurrentUserReceiptById(id);
     }
 
+    /**
+     * Gets the thumbnail of the receipt for the given id from the current user
+     * account. The thumbnail is written straight to the response from the local
+     * thumbnail cache.
+     * 
+     * @param id       The id of the receipt.
+     * @param response The response to write the thumbnail to.
+     * @throws Exception
+     */
+    @GetMapping(path = "/current-user/{id}/thumbnail", produces = IMAGE_JPEG_VALUE)
+    @HasAccess(WebRole.USER)
+    public void getCurrentUserReceiptThumbnail(@PathVariable int id, HttpServletResponse response) throws Exception {
+        service.writeCurrentUserReceiptThumbnail(id, response);
+    }
+
     /**
      * Get the next auto increment value for the receipt details table.
      * 
@@ -99,6 +141,19 @@ public class ReceiptController {
         return service.getAutoIncrementReceiptDetails();
     }
 
+    /**
+     * Reserves a unique name that a receipt can be uploaded under. Every call
+     * reserves a new name, so this is a post.
+     * 
+     * @return {@link Long} of the reserved name.
+     * @throws Exception
+     */
+    @PostMapping(path = "/receipt-details/reserve-name", produces = APPLICATION_JSON_VALUE)
+    @HasAccess(WebRole.USER)
+    public long reserveReceiptName() throws Exception {
+        return service.reserveReceiptName();
+    }
+
     /**
      * This will get the {@link String} url path that routes to the user receipt.
      * This will take in a public id to get the receipt for. This will throw an
@@ -122,12 +177,67 @@ public class ReceiptController {
      * @return {@link Receipt} of the added receipt.
      * @throws Exception
      */
-    @PostMapping(produces = APPLICATION_JSON_VALUE)
+    @PostMapping(produces = { APPLICATION_JSON_VALUE, APPLICATION_CBOR_VALUE })
     @HasAccess(WebRole.USER)
     public Receipt insertReceipt(@RequestBody Receipt rec) throws Exception {
         return service.insertReceipt(rec.getFilePublicId());
     }
 
+    /**
+     * Creates the receipt and associates it to the current user in one call. Any
+     * location, label or notes on the receipt are saved with it.
+     * 
+     * @param receipt The receipt to create.
+     * @return {@link Receipt} of the created receipt.
+     * @throws Exception
+     */
+    @PostMapping(path = "/current-user", produces = { APPLICATION_JSON_VALUE, APPLICATION_CBOR_VALUE })
+    @HasAccess(WebRole.USER)
+    public Receipt insertCurrentUserReceipt(@RequestBody Receipt receipt) throws Exception {
+        return service.insertCurrentUserReceipt(receipt);
+    }
+
+    /**
+     * Uploads the image of a receipt and creates the receipt for the current user
+     * in one call. The image is streamed through to the cloud storage.
+     * 
+     * @param file     The image of the receipt.
+     * @param location The location of the receipt, if any.
+     * @param label    The label of the receipt, if any.
+     * @param notes    The notes of the receipt, if any.
+     * @return {@link Receipt} of the created receipt.
+     * @throws Exception
+     */
+    @PostMapping(path = "/current-user/upload", consumes = MULTIPART_FORM_DATA_VALUE, produces = {
+            APPLICATION_JSON_VALUE, APPLICATION_CBOR_VALUE })
+    @HasAccess(WebRole.USER)
+    public Receipt uploadCurrentUserReceipt(@RequestPart MultipartFile file,
+            @RequestParam(required = false) String location, @RequestParam(required = false) String label,
+            @RequestParam(required = false) String notes) throws Exception {
+        return service.uploadCurrentUserReceipt(file, location, label, notes);
+    }
+
+    /**
+     * Starts the backfill of the asset url and metadata for receipts that do not
+     * have them stored. The backfill runs in the background.
+     */
+    @PostMapping(path = "/receipt-details/asset-backfill")
+    @HasAccess(WebRole.ADMIN)
+    public void backfillReceiptAssets() {
+        service.backfillReceiptAssets();
+    }
+
+    /**
+     * Starts the backfill of the content hash for receipts that do not have one
+     * stored. Receipts found to be duplicates are merged. The backfill runs in the
+     * background.
+     */
+    @PostMapping(path = "/receipt-details/content-hash-backfill")
+    @HasAccess(WebRole.ADMIN)
+    public void backfillReceiptContentHashes() {
+        service.backfillReceiptContentHashes();
+    }
+
     /**
      * This will associate the passed in receipt id to the given user id.
      * 
@@ -136,7 +246,7 @@ public class ReceiptController {
      * @return {@link Receipt}
      * @throws Exception
      */
-    @PostMapping(path = "/{receiptId}/associate/{userId}", produces = APPLICATION_JSON_VALUE)
+    @PostMapping(path = "/{receiptId}/associate/{userId}", produces = { APPLICATION_JSON_VALUE, APPLICATION_CBOR_VALUE })
     @HasAccess(WebRole.ADMIN)
     public Receipt associateUserToReceipt(@PathVariable int receiptId, @PathVariable int userId) throws Exception {
         return service.associateUserToReceipt(receiptId, userId);
@@ -149,7 +259,7 @@ public class ReceiptController {
      * @return {@link Receipt}
      * @throws Exception
      */
-    @PostMapping(path = "/associate/{receiptId}", produces = APPLICATION_JSON_VALUE)
+    @PostMapping(path = "/associate/{receiptId}", produces = { APPLICATION_JSON_VALUE, APPLICATION_CBOR_VALUE })
     @HasAccess(WebRole.USER)
     public Receipt associateCurrentUserToReceipt(@PathVariable int receiptId) throws Exception {
         return service.associateCurrentUserToReceipt(receiptId);
@@ -163,12 +273,26 @@ public class ReceiptController {
      * @return {@link Receipt} of the updated receipt.
      * @throws Exception
      */
-    @PutMapping(path = "/associate", produces = APPLICATION_JSON_VALUE)
+    @PutMapping(path = "/associate", produces = { APPLICATION_JSON_VALUE, APPLICATION_CBOR_VALUE })
     @HasAccess(WebRole.USER)
     public Receipt updateCurrentUserAssociation(@RequestBody Receipt receipt) throws Exception {
         return service.updateCurrentUserAssociation(receipt);
     }
 
+    /**
+     * This will update the association information for many of the current user's
+     * receipts in a single call.
+     * 
+     * @param receipts The receipts to be updated.
+     * @return {@link List<Receipt>} of the updated receipts.
+     * @throws Exception
+     */
+    @PutMapping(path = "/associate/bulk", produces = { APPLICATION_JSON_VALUE, APPLICATION_CBOR_VALUE })
+    @HasAccess(WebRole.USER)
+    public List<Receipt> updateCurrentUserAssociations(@RequestBody List<Receipt> receipts) throws Exception {
+        return service.updateCurrentUserAssociations(receipts);
+    }
+
     /**
      * Delete the receipt for the given id. This is an admin only enpoint. This
      * allows for testing purposes of deleting receipts that are associated to our
@@ -209,7 +333,20 @@ public class ReceiptController {
     @DeleteMapping(path = "/current-user/{receiptId}")
     @HasAccess(WebRole.USER)
     public void currentUserDeleteReceipt(@PathVariable int receiptId) throws Exception {
-        service.deleteReceipts(receiptId);
+        service.currentUserDeleteReceipts(Sets.newHashSet(receiptId));
+    }
+
+    /**
+     * Delete the receipts for the given ids from the current user. Nothing is
+     * deleted unless all of the receipts belong to the current user.
+     * 
+     * @param id The ids of the receipts to be deleted.
+     * @throws Exception
+     */
+    @DeleteMapping(path = "/current-user/bulk")
+    @HasAccess(WebRole.USER)
+    public void currentUserBulkDeleteReceipts(@RequestParam Set<Integer> id) throws Exception {
+        service.currentUserDeleteReceipts(id);
     }
 
     /**
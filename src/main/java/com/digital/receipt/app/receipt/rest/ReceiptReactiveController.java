@@ -0,0 +1,72 @@
+package com.digital.receipt.app.receipt.rest;
+
+import static org.springframework.http.MediaType.APPLICATION_CBOR_VALUE;
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+
+import java.util.List;
+
+import com.digital.receipt.annotations.interfaces.HasAccess;
+import com.digital.receipt.annotations.interfaces.RestApiController;
+import com.digital.receipt.app.receipt.client.domain.Receipt;
+import com.digital.receipt.app.receipt.client.domain.request.ReceiptGetRequest;
+import com.digital.receipt.app.receipt.service.ReceiptReactiveService;
+import com.digital.receipt.common.enums.WebRole;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Non blocking variants of the receipt read endpoints. The request thread is
+ * released as soon as the call is made and the response is written once the
+ * receipts are ready.
+ * 
+ * @author Sam Butler
+ * @since October 19, 2026
+ */
+@RequestMapping("api/receipt-app/receipt/reactive")
+@RestApiController
+public class ReceiptReactiveController {
+    @Autowired
+    private ReceiptReactiveService service;
+
+    /**
+     * Get the receipt for the given receipt id. Only admins are able to make this
+     * endpoint call.
+     * 
+     * @param id The id of the receipt to get
+     * @return {@link Mono} of the receipt for the id.
+     */
+    @GetMapping(path = "/{id}", produces = { APPLICATION_JSON_VALUE, APPLICATION_CBOR_VALUE })
+    @HasAccess(WebRole.ADMIN)
+    public Mono<Receipt> getReceiptById(@PathVariable int id) {
+        return service.getReceiptById(id);
+    }
+
+    /**
+     * This will get a list of all the receipts based on the
+     * {@link ReceiptGetRequest} and also append the current user ID to the request.
+     * 
+     * @return {@link Mono} of the receipts associated to that user.
+     */
+    @GetMapping(path = "/current-user", produces = { APPLICATION_JSON_VALUE, APPLICATION_CBOR_VALUE })
+    @HasAccess(WebRole.USER)
+    public Mono<List<Receipt>> getCurrentUserReceipts(ReceiptGetRequest request) {
+        return service.getCurrentUserReceipts(request);
+    }
+
+    /**
+     * Get the receipt for the given receipt id from the current user account.
+     * 
+     * @param id The id of the receipt to get
+     * @return {@link Mono} of the receipt for the id.
+     */
+    @GetMapping(path = "/current-user/{id}", produces = { APPLICATION_JSON_VALUE, APPLICATION_CBOR_VALUE })
+    @HasAccess(WebRole.USER)
+    public Mono<Receipt> getCurrentUserReceiptById(@PathVariable int id) {
+        return service.getCurrentUserReceiptById(id);
+    }
+}
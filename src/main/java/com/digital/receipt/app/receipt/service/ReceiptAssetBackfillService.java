@@ -0,0 +1,93 @@
+package com.digital.receipt.app.receipt.service;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.digital.receipt.app.receipt.client.domain.Receipt;
+import com.digital.receipt.app.receipt.dao.ReceiptDao;
+import com.digital.receipt.service.cloudinary.CloudinaryClient;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * One off job that stores the asset url and metadata for receipts that were
+ * created before they were stored at insert time. The receipts are read a page
+ * at a time by id, so no query is held open while the assets are looked up,
+ * and each page is written back before the next one is read.
+ * 
+ * @author Sam Butler
+ * @since October 19, 2026
+ */
+@Component
+public class ReceiptAssetBackfillService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReceiptAssetBackfillService.class);
+
+    private static final int LOOKUP_CONCURRENCY = 4;
+
+    @Autowired
+    private ReceiptDao dao;
+
+    @Autowired
+    private CloudinaryClient client;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    /**
+     * Runs the backfill in the background. If a backfill is already running this
+     * does nothing.
+     */
+    @Async
+    public void backfillAssets() {
+        if (!running.compareAndSet(false, true)) {
+            LOGGER.info("Receipt asset backfill is already running.");
+            return;
+        }
+
+        AtomicLong stored = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        try {
+            List<Receipt> page = dao.getReceiptsMissingAsset(0);
+            while (!page.isEmpty()) {
+                storeAssets(page, stored, failed);
+                page = dao.getReceiptsMissingAsset(page.get(page.size() - 1).getId());
+            }
+            LOGGER.info("Receipt asset backfill finished. Stored {} assets, {} could not be looked up.", stored.get(),
+                    failed.get());
+        } catch (Exception e) {
+            LOGGER.error("Receipt asset backfill stopped after storing {} assets.", stored.get(), e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Looks up the assets for the batch of receipts and stores the ones that were
+     * found. Receipts whose asset can not be looked up are skipped and picked up
+     * again by the next run.
+     * 
+     * @param batch  The receipts to store the assets of.
+     * @param stored Count of the assets stored.
+     * @param failed Count of the assets that could not be looked up.
+     * @throws Exception
+     */
+    private void storeAssets(List<Receipt> batch, AtomicLong stored, AtomicLong failed) throws Exception {
+        List<Receipt> found = Flux.fromIterable(batch).flatMap(r -> client.getAsset(r.getFilePublicId()).map(a -> {
+            r.setAsset(a);
+            return r;
+        }).onErrorResume(e -> {
+            failed.incrementAndGet();
+            return Mono.empty();
+        }), LOOKUP_CONCURRENCY).collectList().block();
+
+        dao.updateReceiptAssets(found);
+        stored.addAndGet(found.size());
+    }
+}
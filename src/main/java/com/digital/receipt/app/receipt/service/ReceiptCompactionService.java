@@ -0,0 +1,88 @@
+package com.digital.receipt.app.receipt.service;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.digital.receipt.app.receipt.client.domain.Receipt;
+import com.digital.receipt.app.receipt.dao.ReceiptDao;
+import com.digital.receipt.service.cloudinary.ReceiptCloud;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Purges the receipts that were marked deleted. Runs off peak and works through
+ * the marked receipts in batches, removing the files and thumbnails from
+ * cloudinary before the rows so a failed run leaves the rows marked to be
+ * picked up by a later one. Batches are spaced out and capped per run.
+ * 
+ * Every instance runs the compaction on the same schedule. Each batch is
+ * claimed in a short transaction with skip locked, so the instances split the
+ * marked receipts between them instead of purging the same ones, and no locks
+ * are held while cloudinary is called.
+ * 
+ * @author Sam Butler
+ * @since October 19, 2026
+ */
+@Component
+public class ReceiptCompactionService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReceiptCompactionService.class);
+
+    @Autowired
+    private ReceiptDao dao;
+
+    @Autowired
+    private ReceiptCloud cloud;
+
+    @Value("${receipt.compaction.max-batches:100}")
+    private int maxBatches;
+
+    @Value("${receipt.compaction.pause-ms:1000}")
+    private long pauseMillis;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    /**
+     * Runs the compaction on the configured schedule. If a compaction is already
+     * running on this instance this does nothing.
+     */
+    @Scheduled(cron = "${receipt.compaction.cron:0 0 8 * * *}", zone = "UTC")
+    public void compact() {
+        if (!running.compareAndSet(false, true)) {
+            LOGGER.info("Receipt compaction is already running.");
+            return;
+        }
+
+        int purged = 0;
+        try {
+            for (int i = 0; i < maxBatches; i++) {
+                List<Receipt> batch = dao.claimDeletedReceipts();
+                if (batch.isEmpty()) {
+                    break;
+                }
+
+                cloud.delete(batch.stream().flatMap(
+                        r -> Stream.of(r.getFilePublicId(), ReceiptThumbnailService.FOLDER + r.getFilePublicId()))
+                        .collect(Collectors.toList()));
+                dao.deleteClaimedReceipts(batch);
+
+                purged += batch.size();
+                TimeUnit.MILLISECONDS.sleep(pauseMillis);
+            }
+            LOGGER.info("Receipt compaction finished. Purged {} receipts.", purged);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            LOGGER.error("Receipt compaction stopped after purging {} receipts.", purged, e);
+        } finally {
+            running.set(false);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.digital.receipt.app.receipt.service;
+
+import java.security.MessageDigest;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.digital.receipt.app.receipt.client.domain.Receipt;
+import com.digital.receipt.app.receipt.dao.ReceiptDao;
+import com.digital.receipt.service.cloudinary.CloudinaryClient;
+import com.digital.receipt.service.util.ContentHashUtil;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
+
+/**
+ * One off job that stores the content hash for receipts that were created
+ * before it was computed at upload. The receipts are read a page at a time by
+ * id, so no query is held open while their images are downloaded and hashed a
+ * chunk at a time, and receipts that turn out to be duplicates are merged into
+ * the receipt that already has the hash.
+ * 
+ * @author Sam Butler
+ * @since October 19, 2026
+ */
+@Component
+public class ReceiptContentHashBackfillService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReceiptContentHashBackfillService.class);
+
+    private static final int DOWNLOAD_CONCURRENCY = 4;
+
+    @Autowired
+    private ReceiptDao dao;
+
+    @Autowired
+    private CloudinaryClient client;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    /**
+     * Runs the backfill in the background. If a backfill is already running this
+     * does nothing.
+     */
+    @Async
+    public void backfillContentHashes() {
+        if (!running.compareAndSet(false, true)) {
+            LOGGER.info("Receipt content hash backfill is already running.");
+            return;
+        }
+
+        AtomicLong stored = new AtomicLong();
+        AtomicLong merged = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        try {
+            List<Receipt> page = dao.getReceiptsMissingContentHash(0);
+            while (!page.isEmpty()) {
+                storeContentHashes(page, stored, merged, failed);
+                page = dao.getReceiptsMissingContentHash(page.get(page.size() - 1).getId());
+            }
+            LOGGER.info(
+                    "Receipt content hash backfill finished. Stored {} hashes, merged {} duplicates, {} could not be downloaded.",
+                    stored.get(), merged.get(), failed.get());
+        } catch (Exception e) {
+            LOGGER.error("Receipt content hash backfill stopped after storing {} hashes.", stored.get(), e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Hashes the images of the batch of receipts and stores the hashes. Receipts
+     * whose image can not be downloaded are skipped and picked up again by the
+     * next run.
+     * 
+     * @param batch  The receipts to store the content hash of.
+     * @param stored Count of the hashes stored.
+     * @param merged Count of the receipts merged into a duplicate.
+     * @param failed Count of the images that could not be downloaded.
+     * @throws Exception
+     */
+    private void storeContentHashes(List<Receipt> batch, AtomicLong stored, AtomicLong merged, AtomicLong failed)
+            throws Exception {
+        List<Tuple2<Receipt, String>> hashed = Flux.fromIterable(batch).distinct(r -> r.getId())
+                .flatMap(r -> hash(r.getUrl()).map(h -> Tuples.of(r, h)).onErrorResume(e -> {
+                    failed.incrementAndGet();
+                    return Mono.empty();
+                }), DOWNLOAD_CONCURRENCY).collectList().block();
+
+        for (Tuple2<Receipt, String> h : hashed) {
+            if (dao.storeContentHash(h.getT1(), h.getT2())) {
+                merged.incrementAndGet();
+            } else {
+                stored.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Downloads the image at the url and hashes it as it is read.
+     * 
+     * @param url The delivery url of the image.
+     * @return {@link Mono} of the hex encoded content hash.
+     */
+    private Mono<String> hash(String url) {
+        return Mono.defer(() -> {
+            MessageDigest digest = ContentHashUtil.newDigest();
+            return client.download(url).doOnNext(b -> {
+                digest.update(b.asByteBuffer());
+                DataBufferUtils.release(b);
+            }).then(Mono.fromCallable(() -> ContentHashUtil.toHex(digest.digest())));
+        });
+    }
+}
@@ -0,0 +1,42 @@
+package com.digital.receipt.app.receipt.service;
+
+import com.digital.receipt.app.receipt.dao.ReceiptDao;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hands out unique receipt names for clients that need a name before the
+ * receipt is uploaded. Names are given out of blocks reserved in the database,
+ * so only one insert is made for every {@link #BLOCK_SIZE} names. Any names
+ * left in a block when the application stops are never used.
+ * 
+ * @author Sam Butler
+ * @since October 19, 2026
+ */
+@Component
+public class ReceiptNameService {
+    private static final int BLOCK_SIZE = 1000;
+
+    @Autowired
+    private ReceiptDao dao;
+
+    private long next;
+
+    private long max;
+
+    /**
+     * Gets the next unique receipt name, reserving a new block when the current
+     * one runs out.
+     * 
+     * @return {@link Long} of the reserved name.
+     * @throws Exception
+     */
+    public synchronized long reserveReceiptName() throws Exception {
+        if (next >= max) {
+            next = dao.reserveReceiptNameBlock() * BLOCK_SIZE;
+            max = next + BLOCK_SIZE;
+        }
+        return next++;
+    }
+}
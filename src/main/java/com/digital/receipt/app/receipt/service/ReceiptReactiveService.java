@@ -0,0 +1,127 @@
+package com.digital.receipt.app.receipt.service;
+
+import java.util.List;
+
+import javax.annotation.PreDestroy;
+
+import com.digital.receipt.app.receipt.client.domain.Receipt;
+import com.digital.receipt.app.receipt.client.domain.request.ReceiptGetRequest;
+import com.digital.receipt.app.receipt.dao.ReceiptDao;
+import com.digital.receipt.jwt.utility.JwtHolder;
+import com.digital.receipt.service.cloudinary.CloudinaryClient;
+import com.google.common.collect.Sets;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Non blocking version of the receipt read calls. The blocking dao calls are
+ * offloaded onto a bounded scheduler sized to the connection pool so request
+ * threads are released while waiting on the database and the receipt urls are
+ * resolved concurrently through the non blocking {@link CloudinaryClient}.
+ * 
+ * @author Sam Butler
+ * @since October 19, 2026
+ */
+@Component
+public class ReceiptReactiveService {
+
+    private static final int QUEUED_TASKS = 10_000;
+
+    private static final int URL_CONCURRENCY = 16;
+
+    @Autowired
+    private ReceiptDao dao;
+
+    @Autowired
+    private JwtHolder jwtHolder;
+
+    @Autowired
+    private CloudinaryClient cloud;
+
+    private final Scheduler dbScheduler;
+
+    /**
+     * Creates the bounded scheduler the blocking dao work is offloaded onto. It
+     * defaults to one thread per pooled connection, since more threads would only
+     * wait on the pool.
+     * 
+     * @param dbThreads How many threads the dao work can run on at once.
+     */
+    @Autowired
+    public ReceiptReactiveService(
+            @Value("${receipt.reactive.db-threads:${spring.datasource.hikari.maximum-pool-size:10}}") int dbThreads) {
+        dbScheduler = Schedulers.newBoundedElastic(dbThreads, QUEUED_TASKS, "receipt-db");
+    }
+
+    /**
+     * Get the receipt for the given receipt id.
+     * 
+     * @param id The id of the receipt to get
+     * @return {@link Mono} of the receipt for the id.
+     */
+    public Mono<Receipt> getReceiptById(int id) {
+        return Mono.fromCallable(() -> dao.getReceiptById(id)).subscribeOn(dbScheduler).flatMap(this::populateUrl);
+    }
+
+    /**
+     * This will get a list of all the receipts based on the
+     * {@link ReceiptGetRequest} and also append the current user ID to the request.
+     * The user id is read from the token before any work is offloaded.
+     * 
+     * @param request The request to filter the receipts on.
+     * @return {@link Mono} of the receipts associated to that user.
+     */
+    public Mono<List<Receipt>> getCurrentUserReceipts(ReceiptGetRequest request) {
+        request.setUserId(Sets.newHashSet(jwtHolder.getRequiredUserId()));
+
+        return Mono.fromCallable(() -> dao.getReceipts(request)).subscribeOn(dbScheduler)
+                .flatMapMany(Flux::fromIterable).flatMapSequential(this::populateUrl, URL_CONCURRENCY)
+                .collectList();
+    }
+
+    /**
+     * Get the receipt for the given receipt id from the current user account. The
+     * user id is read from the token before any work is offloaded.
+     * 
+     * @param id The id of the receipt to get
+     * @return {@link Mono} of the receipt for the id.
+     */
+    public Mono<Receipt> getCurrentUserReceiptById(int id) {
+        int userId = jwtHolder.getRequiredUserId();
+
+        return Mono.fromCallable(() -> dao.getCurrentUserReceiptById(id, userId)).subscribeOn(dbScheduler)
+                .flatMap(this::populateUrl);
+    }
+
+    /**
+     * Sets the url on the given receipt from the cloud storage if it does not have
+     * one stored yet.
+     * 
+     * @param receipt The receipt to set the url on.
+     * @return {@link Mono} of the receipt with the url.
+     */
+    private Mono<Receipt> populateUrl(Receipt receipt) {
+        if (receipt.getUrl() != null) {
+            return Mono.just(receipt);
+        }
+        return cloud.getUrl(receipt.getFilePublicId()).map(url -> {
+            receipt.setUrl(url);
+            return receipt;
+        });
+    }
+
+    /**
+     * Shuts down the scheduler when the application is stopped.
+     */
+    @PreDestroy
+    public void dispose() {
+        dbScheduler.dispose();
+    }
+}
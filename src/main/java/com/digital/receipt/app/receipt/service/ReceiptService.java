@@ -1,18 +1,36 @@
 package com.digital.receipt.app.receipt.service;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Date;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.annotation.PostConstruct;
+import javax.servlet.http.HttpServletResponse;
 
 import com.digital.receipt.app.receipt.client.domain.Receipt;
 import com.digital.receipt.app.receipt.client.domain.request.ReceiptGetRequest;
 import com.digital.receipt.app.receipt.dao.ReceiptDao;
 import com.digital.receipt.jwt.utility.JwtHolder;
 import com.digital.receipt.service.cloudinary.ReceiptCloud;
+import com.digital.receipt.service.util.ContentHashUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import com.google.common.collect.Sets;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * Receipt Service class that handles all service calls to the dao.
@@ -22,6 +40,9 @@ import org.springframework.stereotype.Component;
  */
 @Component
 public class ReceiptService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReceiptService.class);
+
+    private static final String THUMBNAIL_URL = "/api/receipt-app/receipt/current-user/%d/thumbnail";
 
     @Autowired
     private ReceiptDao dao;
@@ -32,6 +53,35 @@ public class ReceiptService {
     @Autowired
     private ReceiptCloud cloud;
 
+    @Autowired
+    private ReceiptNameService nameService;
+
+    @Autowired
+    private ReceiptAssetBackfillService assetBackfillService;
+
+    @Autowired
+    private ReceiptContentHashBackfillService contentHashBackfillService;
+
+    @Autowired
+    private ReceiptThumbnailService thumbnailService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${receipt.soft-delete.enabled:true}")
+    private boolean softDelete;
+
+    private ObjectWriter receiptWriter;
+
+    /**
+     * Builds the writer used to stream receipts, so the serializer is looked up once
+     * instead of for every row.
+     */
+    @PostConstruct
+    public void init() {
+        receiptWriter = objectMapper.writerFor(Receipt.class);
+    }
+
     /**
      * Get the receipt for the given receipt id.
      * 
@@ -40,9 +90,7 @@ public class ReceiptService {
      * @throws Exception
      */
     public Receipt getReceiptById(int id) throws Exception {
-        Receipt r = dao.getReceiptById(id);
-        r.setUrl(cloud.getUrl(r.getFilePublicId()));
-        return r;
+        return populateUrl(dao.getReceiptById(id));
     }
 
     /**
@@ -55,12 +103,34 @@ public class ReceiptService {
     public List<Receipt> getReceipts(ReceiptGetRequest request) throws Exception {
         List<Receipt> receipts = dao.getReceipts(request);
         for (Receipt r : receipts) {
-            r.setUrl(cloud.getUrl(r.getFilePublicId()));
+            populateUrl(r);
         }
 
         return receipts;
     }
 
+    /**
+     * This will stream all the receipts based on the {@link ReceiptGetRequest} to
+     * the response as a json array. Each receipt is written out as soon as it is
+     * read so the full list is never held in memory. The database cursor stays
+     * open while the receipts are written, so a missing url is built from the
+     * public id instead of being looked up in the cloud storage.
+     * 
+     * @param request The request to filter the receipts on.
+     * @return {@link StreamingResponseBody} that writes the receipts.
+     */
+    public StreamingResponseBody streamReceipts(ReceiptGetRequest request) {
+        return out -> {
+            try (SequenceWriter receipts = receiptWriter.writeValuesAsArray(out)) {
+                dao.streamReceipts(request, r -> receipts.write(populateDeliveryUrl(r)));
+            } catch (IOException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IOException("Could not stream receipts.", e);
+            }
+        };
+    }
+
     /**
      * This will get a list of all the receipts based on the
      * {@link ReceiptGetRequest} and also append the current user ID to the request.
@@ -81,9 +151,7 @@ public class ReceiptService {
      * @throws Exception
      */
     public Receipt getCurrentUserReceiptById(int id) throws Exception {
-        Receipt r = dao.getCurrentUserReceiptById(id, jwtHolder.getRequiredUserId());
-        r.setUrl(cloud.getUrl(r.getFilePublicId()));
-        return r;
+        return populateUrl(dao.getCurrentUserReceiptById(id, jwtHolder.getRequiredUserId()));
     }
 
     /**
@@ -118,7 +186,136 @@ public class ReceiptService {
      * @throws Exception
      */
     public Receipt insertReceipt(String publicId) throws Exception {
-        return dao.insertReceipt(publicId);
+        Receipt receipt = new Receipt(publicId, new Date());
+        setAsset(receipt);
+        dao.insertReceipt(receipt);
+        thumbnailService.generateAsync(receipt);
+        return setThumbnailUrl(receipt);
+    }
+
+    /**
+     * Creates the receipt and associates it to the current user in one call. Any
+     * location, label or notes on the receipt are saved with it. Only those fields
+     * and the public id are taken from the request. The url, asset metadata and
+     * content hash are only ever set from what the server looked up itself, so a
+     * receipt whose asset can not be found is stored without a url until the
+     * asset backfill finds it.
+     * 
+     * @param request The receipt to create.
+     * @return {@link Receipt} of the created receipt.
+     * @throws Exception
+     */
+    public Receipt insertCurrentUserReceipt(Receipt request) throws Exception {
+        Receipt receipt = new Receipt(request.getFilePublicId(), new Date());
+        receipt.setUserId(jwtHolder.getRequiredUserId());
+        receipt.setLocation(request.getLocation());
+        receipt.setLabel(request.getLabel());
+        receipt.setNotes(request.getNotes());
+        setAsset(receipt);
+        Receipt created = dao.insertUserReceipt(receipt);
+        thumbnailService.generateAsync(created);
+        return populateUrl(created);
+    }
+
+    /**
+     * Uploads the image of a receipt and creates the receipt for the current user
+     * in the same call. The image is hashed first, and if a stored receipt already
+     * has the same content the current user is associated to it and nothing is
+     * uploaded. Otherwise the image is streamed to the cloud storage under a newly
+     * reserved name, so it is never held in memory as a whole. If the receipt can
+     * not be created the uploaded image is removed.
+     * 
+     * @param file     The image of the receipt.
+     * @param location The location of the receipt, if any.
+     * @param label    The label of the receipt, if any.
+     * @param notes    The notes of the receipt, if any.
+     * @return {@link Receipt} of the created or matched receipt.
+     * @throws Exception If the file is not an image or the upload fails.
+     */
+    public Receipt uploadCurrentUserReceipt(MultipartFile file, String location, String label, String notes)
+            throws Exception {
+        if (file.isEmpty())
+            throw new Exception("No receipt image provided to upload.");
+        if (file.getContentType() == null || !file.getContentType().startsWith("image/"))
+            throw new Exception("Receipt uploads must be an image.");
+
+        Receipt receipt = new Receipt();
+        receipt.setUserId(jwtHolder.getRequiredUserId());
+        receipt.setLocation(location);
+        receipt.setLabel(label);
+        receipt.setNotes(notes);
+        try (InputStream content = file.getInputStream()) {
+            receipt.setContentHash(ContentHashUtil.hash(content));
+        }
+
+        Receipt existing = dao.associateUserToContentHash(receipt);
+        if (existing != null) {
+            return populateUrl(existing);
+        }
+
+        receipt.setFilePublicId(String.valueOf(nameService.reserveReceiptName()));
+        receipt.setInsertDate(new Date());
+        try (InputStream content = file.getInputStream()) {
+            receipt.setAsset(cloud.upload(receipt.getFilePublicId(), MediaType.parseMediaType(file.getContentType()),
+                    content));
+        }
+
+        Receipt created;
+        try {
+            created = dao.insertUserReceipt(receipt);
+        } catch (DuplicateKeyException e) {
+            removeUpload(receipt.getFilePublicId());
+            existing = dao.associateUserToContentHash(receipt);
+            if (existing == null) {
+                throw e;
+            }
+            return populateUrl(existing);
+        } catch (Exception e) {
+            removeUpload(receipt.getFilePublicId());
+            throw e;
+        }
+        thumbnailService.generateAsync(created);
+        return populateUrl(created);
+    }
+
+    /**
+     * Writes the thumbnail of the receipt for the given id from the current user
+     * account to the response.
+     * 
+     * @param id       The id of the receipt.
+     * @param response The response to write the thumbnail to.
+     * @throws Exception If the user does not have the receipt or the thumbnail
+     *                   can not be made.
+     */
+    public void writeCurrentUserReceiptThumbnail(int id, HttpServletResponse response) throws Exception {
+        thumbnailService.write(dao.getCurrentUserReceiptById(id, jwtHolder.getRequiredUserId()), response);
+    }
+
+    /**
+     * Reserves a unique name that a receipt can be uploaded under.
+     * 
+     * @return {@link Long} of the reserved name.
+     * @throws Exception
+     */
+    public long reserveReceiptName() throws Exception {
+        return nameService.reserveReceiptName();
+    }
+
+    /**
+     * Starts the backfill of the asset url and metadata for receipts that do not
+     * have them stored. The backfill runs in the background.
+     */
+    public void backfillReceiptAssets() {
+        assetBackfillService.backfillAssets();
+    }
+
+    /**
+     * Starts the backfill of the content hash for receipts that do not have one
+     * stored. Receipts found to be duplicates are merged. The backfill runs in the
+     * background.
+     */
+    public void backfillReceiptContentHashes() {
+        contentHashBackfillService.backfillContentHashes();
     }
 
     /**
@@ -131,7 +328,7 @@ public class ReceiptService {
      */
     public Receipt associateUserToReceipt(int receiptId, int userId) throws Exception {
         dao.associateUserToReceipt(receiptId, userId);
-        return getReceiptById(receiptId);
+        return populateUrl(dao.getCurrentUserReceiptById(receiptId, userId));
     }
 
     /**
@@ -163,6 +360,30 @@ public class ReceiptService {
         return getCurrentUserReceiptById(receipt.getId());
     }
 
+    /**
+     * Updates the location, label and notes of many of the current user's
+     * receipts at once. The receipts returned are built from the update and the
+     * stored fields, so no storage calls are made to build them.
+     * 
+     * @param receipts The receipts to be updated.
+     * @return {@link List<Receipt>} of the updated receipts.
+     * @throws Exception If a receipt has no data to update or is not owned by the
+     *                   current user.
+     */
+    public List<Receipt> updateCurrentUserAssociations(List<Receipt> receipts) throws Exception {
+        if (receipts.isEmpty())
+            throw new Exception("No receipts provided to update.");
+
+        for (Receipt r : receipts) {
+            if (r.getLocation() == null && r.getLabel() == null && r.getNotes() == null)
+                throw new Exception(String.format("No data provided to update receipt id %d.", r.getId()));
+        }
+
+        List<Receipt> updated = dao.updateCurrentUserAssociations(jwtHolder.getRequiredUserId(), receipts);
+        updated.forEach(this::setThumbnailUrl);
+        return updated;
+    }
+
     /**
      * Delete the receipt for the given id.
      * 
@@ -180,27 +401,18 @@ public class ReceiptService {
      * @throws Exception
      */
     public void deleteReceipts(Set<Integer> receiptIds) throws Exception {
-        ReceiptGetRequest request = new ReceiptGetRequest();
-        request.setId(receiptIds);
-
-        deleteReceipts(getReceipts(request));
+        deleteFromCloud(dao.deleteReceipts(receiptIds, null, softDelete));
     }
 
     /**
-     * Delete the receipts for the given list. This will remove the association in
-     * cloudinary and also the DB record. If an empty list is passed in then it will
-     * just return with no deletions.
+     * Delete the receipts for the given ids from the current user. Nothing is
+     * deleted unless the current user owns every one of the receipts.
      * 
-     * @param receipts List of receipts to be deleted.
-     * @throws Exception
+     * @param receiptIds The ids of the receipts to be deleted.
+     * @throws Exception If the current user does not own one of the receipts.
      */
-    public void deleteReceipts(List<Receipt> receipts) throws Exception {
-        if (receipts.isEmpty()) {
-            return;
-        }
-
-        dao.deleteReceiptRecords(receipts.stream().map(r -> r.getId()).collect(Collectors.toList()));
-        cloud.delete(receipts.stream().map(r -> r.getFilePublicId()).collect(Collectors.toList()));
+    public void currentUserDeleteReceipts(Set<Integer> receiptIds) throws Exception {
+        deleteFromCloud(dao.deleteCurrentUserReceipts(receiptIds, jwtHolder.getRequiredUserId(), softDelete));
     }
 
     /**
@@ -219,9 +431,96 @@ public class ReceiptService {
      * @throws Exception If the receipts can't be deleted.
      */
     public void deleteAllUserReceipts(int userId) throws Exception {
-        ReceiptGetRequest r = new ReceiptGetRequest();
-        r.setUserId(Sets.newHashSet(userId));
+        deleteFromCloud(dao.deleteReceipts(null, userId, softDelete));
+    }
+
+    /**
+     * Removes the files and thumbnails of the deleted receipts from cloudinary. If
+     * an empty list is passed in, or the receipts were only marked deleted, then
+     * it will just return and the files are removed by the receipt compaction.
+     * 
+     * @param receipts List of receipts that were deleted.
+     * @throws Exception
+     */
+    private void deleteFromCloud(List<Receipt> receipts) throws Exception {
+        if (receipts.isEmpty() || softDelete) {
+            return;
+        }
+
+        cloud.delete(receipts.stream()
+                .flatMap(r -> Stream.of(r.getFilePublicId(), ReceiptThumbnailService.FOLDER + r.getFilePublicId()))
+                .collect(Collectors.toList()));
+    }
 
-        deleteReceipts(getReceipts(r));
+    /**
+     * Removes an uploaded image that no receipt was created for. A failure is only
+     * logged so the error that caused the removal is the one that is thrown.
+     * 
+     * @param pid The public id of the uploaded image.
+     */
+    private void removeUpload(String pid) {
+        try {
+            cloud.delete(pid);
+        } catch (Exception e) {
+            LOGGER.warn("Could not remove the upload for receipt '{}'", pid, e);
+        }
+    }
+
+    /**
+     * Sets the url on the receipt from the cloud storage if it does not have one
+     * stored yet, along with the thumbnail url. Receipts with a stored url do not
+     * go to the cloud storage.
+     * 
+     * @param receipt The receipt to set the url on.
+     * @return {@link Receipt} with the url set.
+     * @throws Exception
+     */
+    private Receipt populateUrl(Receipt receipt) throws Exception {
+        if (receipt.getUrl() == null) {
+            receipt.setUrl(cloud.getUrl(receipt.getFilePublicId()));
+        }
+        return setThumbnailUrl(receipt);
+    }
+
+    /**
+     * Sets the url on the receipt from its public id if it does not have one
+     * stored yet, along with the thumbnail url. This never calls the cloud
+     * storage.
+     * 
+     * @param receipt The receipt to set the url on.
+     * @return {@link Receipt} with the url set.
+     */
+    private Receipt populateDeliveryUrl(Receipt receipt) {
+        if (receipt.getUrl() == null) {
+            receipt.setUrl(cloud.getDeliveryUrl(receipt.getFilePublicId()));
+        }
+        return setThumbnailUrl(receipt);
+    }
+
+    /**
+     * Sets the url of the thumbnail endpoint for the receipt.
+     * 
+     * @param receipt The receipt to set the thumbnail url on.
+     * @return {@link Receipt} with the thumbnail url set.
+     */
+    private Receipt setThumbnailUrl(Receipt receipt) {
+        receipt.setThumbnailUrl(String.format(THUMBNAIL_URL, receipt.getId()));
+        return receipt;
+    }
+
+    /**
+     * Looks up the asset of the receipt in the cloud storage and sets its url and
+     * metadata on the receipt so they can be stored with it. If the asset can not
+     * be looked up the receipt is left without them and they are filled in by the
+     * asset backfill later.
+     * 
+     * @param receipt The receipt to set the asset on.
+     */
+    private void setAsset(Receipt receipt) {
+        try {
+            receipt.setAsset(cloud.getAsset(receipt.getFilePublicId()));
+        } catch (Exception e) {
+            LOGGER.warn("Could not look up the asset for receipt '{}'", receipt.getFilePublicId(), e);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,309 @@
+package com.digital.receipt.app.receipt.service;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import javax.servlet.http.HttpServletResponse;
+
+import com.digital.receipt.app.receipt.client.domain.Receipt;
+import com.digital.receipt.common.exceptions.TooManyRequestsException;
+import com.digital.receipt.service.cloudinary.CloudinaryClient;
+import com.digital.receipt.service.cloudinary.ReceiptCloud;
+import com.digital.receipt.service.thumbnail.ThumbnailCache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+/**
+ * Generates and serves the fixed size previews of receipts. Thumbnails are
+ * rendered on a pool with one thread per core when a receipt is created and
+ * stored in the cloud under {@link #FOLDER}, so the full image only has to be
+ * downloaded once. They are served out of a {@link ThumbnailCache} on the local
+ * disk, which is filled from the cloud, or by rendering the thumbnail again if
+ * it was never stored.
+ * 
+ * @author Sam Butler
+ * @since October 19, 2026
+ */
+@Component
+public class ReceiptThumbnailService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReceiptThumbnailService.class);
+
+    public static final String FOLDER = "thumbnails/";
+
+    private static final long RENDER_TIMEOUT_SECONDS = 30;
+
+    @Autowired
+    private CloudinaryClient client;
+
+    @Autowired
+    private ReceiptCloud cloud;
+
+    @Autowired
+    private ThumbnailCache cache;
+
+    @Value("${receipt.thumbnail.enabled:true}")
+    private boolean enabled;
+
+    @Value("${receipt.thumbnail.size:240}")
+    private int size;
+
+    @Value("${receipt.thumbnail.backlog:512}")
+    private int backlog;
+
+    @Value("${receipt.thumbnail.max-source-bytes:10485760}")
+    private int maxSourceBytes;
+
+    @Value("${receipt.thumbnail.max-source-pixels:50000000}")
+    private long maxSourcePixels;
+
+    private ThreadPoolExecutor executor;
+
+    /**
+     * Builds the rendering pool.
+     */
+    @PostConstruct
+    public void init() {
+        ImageIO.setUseCache(false);
+
+        int threads = Runtime.getRuntime().availableProcessors();
+        AtomicInteger count = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(backlog), r -> {
+                    Thread thread = new Thread(r, "thumbnail-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Stops the pool when the application shuts down.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Renders and stores the thumbnail of the receipt in the background. If the
+     * backlog is full the thumbnail is skipped and rendered on its first request
+     * instead.
+     * 
+     * @param receipt The receipt that was created.
+     */
+    public void generateAsync(Receipt receipt) {
+        if (!enabled || receipt.getUrl() == null) {
+            return;
+        }
+
+        try {
+            executor.execute(() -> {
+                try {
+                    generate(receipt);
+                } catch (Exception e) {
+                    LOGGER.warn("Could not generate the thumbnail for receipt '{}'", receipt.getFilePublicId(), e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            LOGGER.warn("Thumbnail backlog is full. Receipt '{}' will be rendered on request.",
+                    receipt.getFilePublicId());
+        }
+    }
+
+    /**
+     * Writes the thumbnail of the receipt to the response. The cached file is
+     * transferred to the response channel with {@link FileChannel#transferTo} so
+     * it is never read into the heap. If the file is evicted before it is opened
+     * it is fetched again.
+     * 
+     * @param receipt  The receipt to write the thumbnail of.
+     * @param response The response to write to.
+     * @throws Exception If the thumbnail can not be fetched or rendered.
+     */
+    public void write(Receipt receipt, HttpServletResponse response) throws Exception {
+        for (int attempt = 0;; attempt++) {
+            try (FileChannel file = FileChannel.open(getThumbnail(receipt), StandardOpenOption.READ)) {
+                long length = file.size();
+                response.setContentType(MediaType.IMAGE_JPEG_VALUE);
+                response.setContentLengthLong(length);
+                response.setHeader(HttpHeaders.CACHE_CONTROL, "private, max-age=86400");
+
+                WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+                for (long position = 0; position < length;) {
+                    position += file.transferTo(position, length - position, out);
+                }
+                return;
+            } catch (NoSuchFileException e) {
+                if (attempt > 0) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the cached thumbnail of the receipt. On a miss the stored thumbnail is
+     * downloaded, or rendered on the pool if one was never stored.
+     * 
+     * @param receipt The receipt to get the thumbnail of.
+     * @return {@link Path} of the cached thumbnail.
+     * @throws Exception If the thumbnail can not be fetched or rendered.
+     */
+    private Path getThumbnail(Receipt receipt) throws Exception {
+        Path cached = cache.get(receipt.getFilePublicId());
+        if (cached != null) {
+            return cached;
+        }
+
+        try {
+            return cache.put(receipt.getFilePublicId(),
+                    cloud.getContent(client.getFallbackUrl(FOLDER + receipt.getFilePublicId()), maxSourceBytes));
+        } catch (WebClientResponseException.NotFound e) {
+            return cache.put(receipt.getFilePublicId(), render(receipt));
+        }
+    }
+
+    /**
+     * Renders the thumbnail of the receipt on the pool and waits for it.
+     * 
+     * @param receipt The receipt to render the thumbnail of.
+     * @return {@link byte[]} of the thumbnail.
+     * @throws Exception If the thumbnail can not be rendered.
+     */
+    private byte[] render(Receipt receipt) throws Exception {
+        Future<byte[]> thumbnail;
+        try {
+            thumbnail = executor.submit(() -> generate(receipt));
+        } catch (RejectedExecutionException e) {
+            throw new TooManyRequestsException("Too many thumbnails are being rendered. Try again later.", 1);
+        }
+
+        try {
+            return thumbnail.get(RENDER_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+        }
+    }
+
+    /**
+     * Renders the thumbnail from the full image of the receipt, stores it in the
+     * cloud and puts it in the cache.
+     * 
+     * @param receipt The receipt to generate the thumbnail of.
+     * @return {@link byte[]} of the thumbnail.
+     * @throws Exception If the image can not be downloaded or decoded.
+     */
+    private byte[] generate(Receipt receipt) throws Exception {
+        String url = receipt.getUrl() != null ? receipt.getUrl() : cloud.getUrl(receipt.getFilePublicId());
+        byte[] thumbnail = scale(cloud.getContent(url, maxSourceBytes));
+
+        cloud.upload(FOLDER + receipt.getFilePublicId(), MediaType.IMAGE_JPEG, new ByteArrayInputStream(thumbnail));
+        cache.put(receipt.getFilePublicId(), thumbnail);
+        return thumbnail;
+    }
+
+    /**
+     * Scales the image to fit within the thumbnail size and encodes it as a jpeg.
+     * The dimensions are read from the header first, and the image is decoded
+     * with subsampling at about twice the thumbnail size, so the decoded image
+     * stays small no matter how large the source claims to be. The rest is
+     * halved in steps so the final bilinear pass does not skip over pixels.
+     * 
+     * @param image The encoded full image.
+     * @return {@link byte[]} of the encoded thumbnail.
+     * @throws IOException If the image can not be decoded or is too large.
+     */
+    private byte[] scale(byte[] image) throws IOException {
+        BufferedImage current = decode(image);
+
+        double ratio = Math.min(1.0,
+                Math.min((double) size / current.getWidth(), (double) size / current.getHeight()));
+        int width = Math.max(1, (int) Math.round(current.getWidth() * ratio));
+        int height = Math.max(1, (int) Math.round(current.getHeight() * ratio));
+
+        do {
+            int stepWidth = Math.max(width, current.getWidth() / 2);
+            int stepHeight = Math.max(height, current.getHeight() / 2);
+
+            BufferedImage step = new BufferedImage(stepWidth, stepHeight, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = step.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.drawImage(current, 0, 0, stepWidth, stepHeight, Color.WHITE, null);
+            } finally {
+                g.dispose();
+            }
+            current = step;
+        } while (current.getWidth() != width || current.getHeight() != height);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(current, "jpg", out);
+        return out.toByteArray();
+    }
+
+    /**
+     * Decodes the image subsampled down to about twice the thumbnail size.
+     * 
+     * @param image The encoded full image.
+     * @return {@link BufferedImage} of the subsampled image.
+     * @throws IOException If the image can not be decoded or has more pixels than
+     *                     allowed.
+     */
+    private BufferedImage decode(byte[] image) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(new ByteArrayInputStream(image))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                throw new IOException("Receipt image is not in a readable format.");
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int sourceWidth = reader.getWidth(0);
+                int sourceHeight = reader.getHeight(0);
+                if ((long) sourceWidth * sourceHeight > maxSourcePixels) {
+                    throw new IOException(String.format("Receipt image of %dx%d is too large to render.",
+                            sourceWidth, sourceHeight));
+                }
+
+                int subsampling = Math.max(1, Math.max(sourceWidth, sourceHeight) / (2 * size));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+}
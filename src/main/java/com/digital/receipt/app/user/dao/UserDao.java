@@ -9,9 +9,14 @@ import com.digital.receipt.app.auth.client.domain.AuthPassword;
 import com.digital.receipt.app.user.client.domain.User;
 import com.digital.receipt.app.user.client.domain.request.UserGetRequest;
 import com.digital.receipt.common.abstracts.AbstractSqlDao;
+import com.digital.receipt.common.enums.VersionedResource;
 import com.digital.receipt.common.enums.WebRole;
 import com.digital.receipt.common.exceptions.UserNotFoundException;
+import com.digital.receipt.sql.domain.RowConsumer;
+import com.digital.receipt.service.version.ResourceVersionService;
+import com.digital.receipt.sql.domain.SqlParams;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -23,6 +28,9 @@ import org.springframework.stereotype.Repository;
 @Repository
 public class UserDao extends AbstractSqlDao {
 
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
     /**
      * Get users based on given request filter
      * 
@@ -31,10 +39,19 @@ public class UserDao extends AbstractSqlDao {
      * @throws Exception
      */
     public List<User> getUsers(UserGetRequest request) throws Exception {
-        return sqlClient.getPage(getSql("getUsers"),
-                params("id", request.getId()).addValue("email", request.getEmail())
-                        .addValue("firstName", request.getFirstName()).addValue("lastName", request.getLastName()),
-                USER_MAPPER);
+        return sqlClient.getPage(getSql("getUsers"), getUsersParams(request), USER_MAPPER);
+    }
+
+    /**
+     * Streams the users based on the given request filter to the consumer one row
+     * at a time instead of building out the full list.
+     * 
+     * @param request  The request to filter the users on.
+     * @param consumer What to do with each user as it is read.
+     * @throws Exception
+     */
+    public void streamUsers(UserGetRequest request, RowConsumer<User> consumer) throws Exception {
+        sqlClient.stream(getSql("getUsers"), getUsersParams(request), USER_MAPPER, consumer);
     }
 
     /**
@@ -53,6 +70,22 @@ public class UserDao extends AbstractSqlDao {
         }
     }
 
+    /**
+     * Gets the user for the given email. This is a single lookup on the email
+     * column and will throw an exception if no user exists for that email.
+     * 
+     * @param email The email of the user to get.
+     * @return {@link User} associated to that email.
+     * @throws Exception If a user does not exist for the email.
+     */
+    public User getUserByEmail(String email) throws Exception {
+        try {
+            return sqlClient.getTemplate(getSql("getUserByEmail"), params("email", email), USER_MAPPER);
+        } catch (Exception e) {
+            throw new UserNotFoundException(String.format("User not found for email '%s'", email));
+        }
+    }
+
     /**
      * Update the user for the given user object. Null out password field so that it
      * is not returned on the {@link User} object
@@ -71,6 +104,7 @@ public class UserDao extends AbstractSqlDao {
         sqlClient.update(getSql("updateUserProfile"),
                 params("firstName", user.getFirstName()).addValue("lastName", user.getLastName())
                         .addValue("email", user.getEmail()).addValue("id", userProfile.getId()));
+        resourceVersionService.bump(VersionedResource.USER, userProfile.getId());
 
         return user;
     }
@@ -89,6 +123,7 @@ public class UserDao extends AbstractSqlDao {
 
         sqlClient.update(getSql("updateUserPassword"), params("password", authPassword.getPassword())
                 .addValue("id", userProfile.getId()).addValue("salt", authPassword.getSalt()));
+        resourceVersionService.bump(VersionedResource.USER, userProfile.getId());
         return userProfile;
     }
 
@@ -104,6 +139,7 @@ public class UserDao extends AbstractSqlDao {
 
         userProfile.setWebRole(role);
         sqlClient.update(getSql("updateUserRole"), params("id", userId).addValue("roleId", role.getValue()));
+        resourceVersionService.bump(VersionedResource.USER, userId);
         return userProfile;
     }
 
@@ -117,6 +153,7 @@ public class UserDao extends AbstractSqlDao {
         Optional<Integer> id = sqlClient.update(getSql("createUserProfile"), params("firstName", user.getFirstName())
                 .addValue("lastName", user.getLastName()).addValue("email", user.getEmail()));
         user.setId(id.get());
+        resourceVersionService.bump(VersionedResource.USER, user.getId());
         return user;
     }
 
@@ -131,6 +168,7 @@ public class UserDao extends AbstractSqlDao {
     public void createUserPassword(int userId, AuthPassword authPassword) throws Exception {
         sqlClient.update(getSql("createUserPassword"), params("password", authPassword.getPassword())
                 .addValue("id", userId).addValue("salt", authPassword.getSalt()));
+        resourceVersionService.bump(VersionedResource.USER, userId);
     }
 
     /**
@@ -143,6 +181,19 @@ public class UserDao extends AbstractSqlDao {
     public void deleteUser(int id) throws Exception {
         getUserById(id);
         sqlClient.delete(getSql("deleteUser"), params("id", id));
+        resourceVersionService.bump(VersionedResource.USER, id);
+        resourceVersionService.bump(VersionedResource.RECEIPT, id);
+    }
+
+    /**
+     * Builds out the params for the get users query from the request.
+     * 
+     * @param request The request to get the param values from.
+     * @return {@link SqlParams} for the get users query.
+     */
+    private SqlParams getUsersParams(UserGetRequest request) {
+        return params("id", request.getId()).addValue("email", request.getEmail())
+                .addValue("firstName", request.getFirstName()).addValue("lastName", request.getLastName());
     }
 
     /**
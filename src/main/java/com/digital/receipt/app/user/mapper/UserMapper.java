@@ -4,27 +4,39 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 
 import com.digital.receipt.app.user.client.domain.User;
+import com.digital.receipt.common.abstracts.AbstractIndexedMapper;
 import com.digital.receipt.common.enums.WebRole;
 
-import org.springframework.jdbc.core.RowMapper;
-
 /**
- * Mapper class to map a User Profile Object {@link User}
+ * Mapper class to map a User Profile Object {@link User}. The columns are read
+ * by index in the order the UserDao and AuthenticationDao fragments select
+ * them.
  * 
  * @author Sam Butler
  * @since June 25, 2020
  */
-public class UserMapper implements RowMapper<User> {
+public class UserMapper extends AbstractIndexedMapper<User> {
     public static UserMapper USER_MAPPER = new UserMapper();
 
-    public User mapRow(ResultSet rs, int rowNum) throws SQLException {
+    private static final int ID = 1;
+    private static final int FIRST_NAME = 2;
+    private static final int LAST_NAME = 3;
+    private static final int EMAIL = 4;
+    private static final int WEB_ROLE_ID = 5;
+    private static final int INSERT_DATE_UTC = 6;
+
+    public UserMapper() {
+        super("id", "first_name", "last_name", "email", "web_role_id", "insert_date_utc");
+    }
+
+    protected User mapIndexedRow(ResultSet rs) throws SQLException {
         User user = new User();
-        user.setId(rs.getInt("id"));
-        user.setFirstName(rs.getString("first_name"));
-        user.setLastName(rs.getString("last_name"));
-        user.setEmail(rs.getString("email"));
-        user.setWebRole(WebRole.getRole(rs.getInt("web_role_id")));
-        user.setInsertDate(rs.getDate("insert_date_utc"));
+        user.setId(rs.getInt(ID));
+        user.setFirstName(rs.getString(FIRST_NAME));
+        user.setLastName(rs.getString(LAST_NAME));
+        user.setEmail(rs.getString(EMAIL));
+        user.setWebRole(WebRole.getRole(rs.getInt(WEB_ROLE_ID)));
+        user.setInsertDate(rs.getDate(INSERT_DATE_UTC));
 
         return user;
     }
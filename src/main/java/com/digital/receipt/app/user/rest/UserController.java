@@ -1,15 +1,18 @@
 package com.digital.receipt.app.user.rest;
 
+import static org.springframework.http.MediaType.APPLICATION_CBOR_VALUE;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 
 import java.util.List;
 
+import com.digital.receipt.annotations.interfaces.ETagged;
 import com.digital.receipt.annotations.interfaces.HasAccess;
 import com.digital.receipt.annotations.interfaces.RestApiController;
 import com.digital.receipt.app.user.client.domain.PasswordUpdate;
 import com.digital.receipt.app.user.client.domain.User;
 import com.digital.receipt.app.user.client.domain.request.UserGetRequest;
 import com.digital.receipt.app.user.service.UserService;
+import com.digital.receipt.common.enums.VersionedResource;
 import com.digital.receipt.common.enums.WebRole;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -21,6 +24,7 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * User Controller for dealing with user request and modifications.
@@ -42,12 +46,26 @@ public class UserController {
      * @return list of user objects
      * @throws Exception
      */
-    @GetMapping(produces = APPLICATION_JSON_VALUE)
+    @GetMapping(produces = { APPLICATION_JSON_VALUE, APPLICATION_CBOR_VALUE })
     @HasAccess(WebRole.ADMIN)
     public List<User> getUsers(UserGetRequest request) throws Exception {
         return userService.getUsers(request);
     }
 
+    /**
+     * Streams the users based of the request filter. Rows are written to the
+     * response as they are read from the database so large listings do not have to
+     * be held in memory.
+     * 
+     * @param request to filter on
+     * @return {@link StreamingResponseBody} of the users.
+     */
+    @GetMapping(path = "/stream", produces = APPLICATION_JSON_VALUE)
+    @HasAccess(WebRole.ADMIN)
+    public StreamingResponseBody streamUsers(UserGetRequest request) {
+        return userService.streamUsers(request);
+    }
+
     /**
      * Get user object for the given Id.
      * 
@@ -55,7 +73,7 @@ public class UserController {
      * @return user associated to that id
      * @throws Exception
      */
-    @GetMapping(path = "/{id}", produces = APPLICATION_JSON_VALUE)
+    @GetMapping(path = "/{id}", produces = { APPLICATION_JSON_VALUE, APPLICATION_CBOR_VALUE })
     @HasAccess(WebRole.ADMIN)
     public User getUserById(@PathVariable int id) throws Exception {
         return userService.getUserById(id);
@@ -67,8 +85,9 @@ public class UserController {
      * @return The user currently logged in.
      * @throws Exception
      */
-    @GetMapping(path = "/current-user", produces = APPLICATION_JSON_VALUE)
+    @GetMapping(path = "/current-user", produces = { APPLICATION_JSON_VALUE, APPLICATION_CBOR_VALUE })
     @HasAccess(WebRole.USER)
+    @ETagged(VersionedResource.USER)
     public User getCurrentUser() throws Exception {
         return userService.getCurrentUser();
     }
@@ -93,7 +112,7 @@ public class UserController {
      * @return {@link User} object of the newly created user.
      * @throws Exception
      */
-    @PostMapping(produces = APPLICATION_JSON_VALUE)
+    @PostMapping(produces = { APPLICATION_JSON_VALUE, APPLICATION_CBOR_VALUE })
     @HasAccess(WebRole.USER)
     public User createUser(@RequestBody User user) throws Exception {
         return userService.createUser(user);
@@ -108,7 +127,7 @@ public class UserController {
      * @return user associated to that id with the updated information
      * @throws Exception
      */
-    @PutMapping(produces = APPLICATION_JSON_VALUE)
+    @PutMapping(produces = { APPLICATION_JSON_VALUE, APPLICATION_CBOR_VALUE })
     @HasAccess(WebRole.USER)
     public User updateUser(@RequestBody User user) throws Exception {
         return userService.updateUser(user);
@@ -121,7 +140,7 @@ public class UserController {
      * @return user associated to that id with the updated information
      * @throws Exception
      */
-    @PutMapping(path = "/{id}/role/{role}", produces = APPLICATION_JSON_VALUE)
+    @PutMapping(path = "/{id}/role/{role}", produces = { APPLICATION_JSON_VALUE, APPLICATION_CBOR_VALUE })
     @HasAccess(WebRole.ADMIN)
     public User updateUserRole(@PathVariable int id, @PathVariable String role) throws Exception {
         return userService.updateUserRole(id, WebRole.valueOf(role));
@@ -138,7 +157,7 @@ public class UserController {
      * @throws Exception If the user can not be authenticated or it failed to hash
      *                   the new password.
      */
-    @PutMapping(path = "/password", produces = APPLICATION_JSON_VALUE)
+    @PutMapping(path = "/password", produces = { APPLICATION_JSON_VALUE, APPLICATION_CBOR_VALUE })
     @HasAccess(WebRole.USER)
     public User updateUserPassword(@RequestBody PasswordUpdate passUpdate) throws Exception {
         return userService.updateUserPassword(passUpdate);
@@ -154,7 +173,7 @@ public class UserController {
      * @throws Exception If the user can not be authenticated or it failed to hash
      *                   the new password.
      */
-    @PutMapping(path = "/password/reset", produces = APPLICATION_JSON_VALUE)
+    @PutMapping(path = "/password/reset", produces = { APPLICATION_JSON_VALUE, APPLICATION_CBOR_VALUE })
     @HasAccess(WebRole.USER)
     public User resetUserPassword(@RequestBody PasswordUpdate passUpdate) throws Exception {
         return userService.resetUserPassword(passUpdate.getNewPassword());
@@ -168,7 +187,7 @@ public class UserController {
      * @return user associated to that id with the updated information
      * @throws Exception
      */
-    @PostMapping(path = "/forgot-password", produces = APPLICATION_JSON_VALUE)
+    @PostMapping(path = "/forgot-password", produces = { APPLICATION_JSON_VALUE, APPLICATION_CBOR_VALUE })
     @HasAccess(WebRole.USER)
     public User forgotPassword(@RequestBody String email) throws Exception {
         return userService.forgotPassword(email);
@@ -1,8 +1,11 @@
 package com.digital.receipt.app.user.service;
 
+import java.io.IOException;
 import java.security.NoSuchAlgorithmException;
 import java.util.List;
 
+import javax.annotation.PostConstruct;
+
 import com.digital.receipt.app.auth.client.AuthenticationClient;
 import com.digital.receipt.app.email.client.EmailClient;
 import com.digital.receipt.app.receipt.client.ReceiptClient;
@@ -14,10 +17,14 @@ import com.digital.receipt.common.enums.WebRole;
 import com.digital.receipt.common.exceptions.BaseException;
 import com.digital.receipt.jwt.utility.JwtHolder;
 import com.digital.receipt.service.util.PasswordUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import com.google.common.collect.Sets;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * User Service class that handles all service calls to the dao.
@@ -43,6 +50,20 @@ public class UserService {
     @Autowired
     private ReceiptClient receiptClient;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private ObjectWriter userWriter;
+
+    /**
+     * Builds the writer used to stream users, so the serializer is looked up once
+     * instead of for every row.
+     */
+    @PostConstruct
+    public void init() {
+        userWriter = objectMapper.writerFor(User.class);
+    }
+
     /**
      * Get users based on given request filter.
      * 
@@ -54,6 +75,26 @@ public class UserService {
         return userDao.getUsers(request);
     }
 
+    /**
+     * Streams the users based on the given request filter to the response as a
+     * json array. Each user is written out as soon as it is read so the full list
+     * is never held in memory.
+     * 
+     * @param request The request to filter the users on.
+     * @return {@link StreamingResponseBody} that writes the users.
+     */
+    public StreamingResponseBody streamUsers(UserGetRequest request) {
+        return out -> {
+            try (SequenceWriter users = userWriter.writeValuesAsArray(out)) {
+                userDao.streamUsers(request, users::write);
+            } catch (IOException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IOException("Could not stream users.", e);
+            }
+        };
+    }
+
     /**
      * Service to get a users profile given the user id.
      * 
@@ -118,16 +159,9 @@ public class UserService {
      * @throws Exception
      */
     public User forgotPassword(String email) throws Exception {
-        UserGetRequest request = new UserGetRequest();
-        request.setEmail(Sets.newHashSet(email));
-        List<User> users = getUsers(request);
-
-        if (users.size() == 0) {
-            throw new BaseException(String.format("User not found for email '%s'", email));
-        }
-
-        emailClient.forgotPassword(email);
-        return users.get(0);
+        User user = userDao.getUserByEmail(email);
+        emailClient.forgotPassword(user);
+        return user;
     }
 
     /**
@@ -0,0 +1,64 @@
+package com.digital.receipt.common.abstracts;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+
+import org.springframework.jdbc.core.RowMapper;
+
+/**
+ * Abstract class for row mappers that read the columns by index instead of by
+ * name. The mapper is given the columns in the order the fragments select them,
+ * and the column positions used by the child class must follow that order. The
+ * columns of the result are checked against it on the first row so a fragment
+ * that selects them in a different order fails instead of mapping the wrong
+ * values.
+ * 
+ * @param <T> The type the mapper returns.
+ * @author Sam Butler
+ * @since October 19, 2026
+ */
+public abstract class AbstractIndexedMapper<T> implements RowMapper<T> {
+
+    private final String[] columns;
+
+    protected AbstractIndexedMapper(String... columns) {
+        this.columns = columns;
+    }
+
+    public T mapRow(ResultSet rs, int rowNum) throws SQLException {
+        if (rowNum == 0) {
+            checkColumns(rs.getMetaData());
+        }
+        return mapIndexedRow(rs);
+    }
+
+    /**
+     * Maps the current row by column index.
+     * 
+     * @param rs The result set on the row to map.
+     * @return The mapped row.
+     * @throws SQLException
+     */
+    protected abstract T mapIndexedRow(ResultSet rs) throws SQLException;
+
+    /**
+     * Checks that the result has the columns of the mapper in the expected order.
+     * 
+     * @param metaData The meta data of the result.
+     * @throws SQLException If a column is missing or out of order.
+     */
+    private void checkColumns(ResultSetMetaData metaData) throws SQLException {
+        if (metaData.getColumnCount() < columns.length) {
+            throw new SQLException(String.format("%s expects %d columns but the result has %d.",
+                    getClass().getSimpleName(), columns.length, metaData.getColumnCount()));
+        }
+
+        for (int i = 0; i < columns.length; i++) {
+            if (!columns[i].equalsIgnoreCase(metaData.getColumnLabel(i + 1))) {
+                throw new SQLException(String.format("%s expects column %d to be '%s' but it is '%s'.",
+                        getClass().getSimpleName(), i + 1, columns[i], metaData.getColumnLabel(i + 1)));
+            }
+        }
+    }
+}
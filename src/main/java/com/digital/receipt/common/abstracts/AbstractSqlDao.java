@@ -10,6 +10,7 @@ import com.digital.receipt.common.enums.SqlTag;
 import com.digital.receipt.common.exceptions.SqlFragmentNotFoundException;
 import com.digital.receipt.service.activeProfile.ActiveProfile;
 import com.digital.receipt.sql.SqlClient;
+import com.digital.receipt.sql.domain.SqlFragment;
 import com.digital.receipt.sql.domain.SqlParams;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -51,26 +52,26 @@ public abstract class AbstractSqlDao {
      * Gets the sql based on the given fragment name.
      * 
      * @param fragmentName Name of the sql fragment to search for.
-     * @return {@link AbstractSqlDao} instance containing the sql string.
+     * @return {@link SqlFragment} containing the sql lines.
      * @throws SqlFragmentNotFoundException If the fragment can not be found in the
      *                                      given file.
      * @throws IOException
      */
-    protected List<String> getSql(String fragmentName) throws Exception {
-        return getQueryFromFile(fragmentName, getChildClassName());
+    protected SqlFragment getSql(String fragmentName) throws Exception {
+        return new SqlFragment(getChildClassName(), fragmentName, getQueryFromFile(fragmentName, getChildClassName()));
     }
 
     /**
      * Gets the sql based on the given fragment name.
      * 
      * @param fragmentName Name of the sql fragment to search for.
-     * @return {@link AbstractSqlDao} instance containing the sql string.
+     * @return {@link SqlFragment} containing the sql lines.
      * @throws SqlFragmentNotFoundException If the fragment can not be found in the
      *                                      given file.
      * @throws IOException
      */
-    protected List<String> getSql(String fragmentName, String fileName) throws Exception {
-        return getQueryFromFile(fragmentName, fileName);
+    protected SqlFragment getSql(String fragmentName, String fileName) throws Exception {
+        return new SqlFragment(getChildClassName(), fragmentName, getQueryFromFile(fragmentName, fileName));
     }
 
     /**
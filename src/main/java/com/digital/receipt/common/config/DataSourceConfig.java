@@ -0,0 +1,62 @@
+package com.digital.receipt.common.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Connection pools for the primary database and its read replica. The primary
+ * is built the same way spring boot would build it, from the
+ * {@code spring.datasource} properties, and is the one injected wherever a
+ * single datasource is asked for. The replica pool is only created when a
+ * replica url is set, and its pool settings are read from
+ * {@code spring.datasource.replica.hikari}.
+ * 
+ * @author Sam Butler
+ * @since October 19, 2026
+ */
+@Configuration
+public class DataSourceConfig {
+
+    /**
+     * Builds the pool for the primary database.
+     * 
+     * @param properties The {@code spring.datasource} properties.
+     * @return {@link HikariDataSource} of the primary database.
+     */
+    @Bean
+    @Primary
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    /**
+     * Builds the read only pool for the read replica. It is closed with the
+     * application context.
+     * 
+     * @param url      The jdbc url of the read replica.
+     * @param username The username for the read replica.
+     * @param password The password for the read replica.
+     * @return {@link HikariDataSource} of the read replica.
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnExpression("!'${spring.datasource.replica.url:}'.isEmpty()")
+    @ConfigurationProperties("spring.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(@Value("${spring.datasource.replica.url}") String url,
+            @Value("${spring.datasource.replica.username:}") String username,
+            @Value("${spring.datasource.replica.password:}") String password) {
+        HikariDataSource replica = DataSourceBuilder.create().type(HikariDataSource.class).url(url)
+                .username(username).password(password).build();
+        replica.setPoolName("Pi-Datasource-Replica");
+        replica.setReadOnly(true);
+        return replica;
+    }
+}
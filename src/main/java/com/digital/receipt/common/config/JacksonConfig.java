@@ -0,0 +1,47 @@
+package com.digital.receipt.common.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Jackson setup for the response bodies. Besides json the endpoints can answer
+ * with cbor when the client asks for {@code application/cbor}, which is smaller
+ * on the wire and cheaper for the mobile clients to parse. The cbor mapper is
+ * built from the same builder as the json one so both write the same fields.
+ * 
+ * Both mappers use generated accessors for the domain classes instead of
+ * reflection to read and write their properties.
+ * 
+ * @author Sam Butler
+ * @since October 19, 2026
+ */
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public Module afterburnerModule() {
+        return new AfterburnerModule();
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(cborObjectMapper(builder));
+    }
+
+    /**
+     * Builds the cbor {@link ObjectMapper} from the given builder.
+     * 
+     * @param builder The builder with the app's jackson settings.
+     * @return {@link ObjectMapper} that reads and writes cbor.
+     */
+    static ObjectMapper cborObjectMapper(Jackson2ObjectMapperBuilder builder) {
+        return builder.factory(new CBORFactory()).build();
+    }
+}
@@ -0,0 +1,12 @@
+package com.digital.receipt.common.enums;
+
+/**
+ * The resources that have a version kept for them so that conditional gets can
+ * be answered without going to the database.
+ * 
+ * @author Sam Butler
+ * @since October 19, 2026
+ */
+public enum VersionedResource {
+    RECEIPT, USER;
+}
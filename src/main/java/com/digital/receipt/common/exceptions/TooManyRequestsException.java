@@ -0,0 +1,21 @@
+package com.digital.receipt.common.exceptions;
+
+/**
+ * Exception thrown when a caller has made too many requests and has to wait
+ * before trying again.
+ * 
+ * @author Sam Butler
+ * @since October 19, 2026
+ */
+public class TooManyRequestsException extends BaseException {
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
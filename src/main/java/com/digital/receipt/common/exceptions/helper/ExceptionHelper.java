@@ -1,9 +1,11 @@
 package com.digital.receipt.common.exceptions.helper;
 
 import com.digital.receipt.common.exceptions.InvalidCredentialsException;
+import com.digital.receipt.common.exceptions.TooManyRequestsException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -26,6 +28,14 @@ public class ExceptionHelper {
                 HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ExceptionError> handleTooManyRequestsException(TooManyRequestsException ex) {
+        LOGGER.warn(ex.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(new ExceptionError(ex.getMessage(), HttpStatus.TOO_MANY_REQUESTS));
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ExceptionError> handleException(Exception ex) {
         LOGGER.error(ex.getMessage());
@@ -0,0 +1,418 @@
+package com.digital.receipt.service.cloudinary;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import com.digital.receipt.service.cloudinary.domain.CloudinaryAsset;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.MultipartBodyBuilder;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig.SlidingWindowType;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.netty.channel.ChannelOption;
+import io.netty.handler.timeout.ReadTimeoutHandler;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Non blocking client for the cloudinary api built on {@link WebClient}. The
+ * connection pool and timeouts are set up here and every call is timed so the
+ * storage latency can be seen next to the rest of the application metrics.
+ * 
+ * All calls go through a circuit breaker. When cloudinary starts failing the
+ * breaker opens and calls fail fast instead of waiting on timeouts, and url
+ * lookups fall back to the last known url or a url built from the public id.
+ * Uploads have their own breaker and a longer read timeout, so a large upload
+ * that is slow but working never opens the breaker the other calls go through.
+ * 
+ * The read timeout only starts once a request has been sent, so the time it
+ * takes to send an upload body is never counted against it, and it is removed
+ * again once the response has been read so it never closes an idle pooled
+ * connection.
+ * 
+ * @author Sam Butler
+ * @since October 19, 2026
+ */
+@Service
+public class CloudinaryClient {
+    private static final String CLOUD_NAME = "hwxm9amax";
+    private static final String API_URL = "https://api.cloudinary.com/v1_1/%s";
+    private static final String DELIVERY_URL = "https://res.cloudinary.com/%s/image/upload/%s";
+    private static final String DELIVERY_PREFIX = "https://res.cloudinary.com/%s/";
+
+    private static final int MAX_CONNECTIONS = 50;
+    private static final int CONNECT_TIMEOUT_MILLIS = 5_000;
+    private static final int READ_TIMEOUT_MILLIS = 10_000;
+    private static final int UPLOAD_READ_TIMEOUT_MILLIS = 30_000;
+    private static final String READ_TIMEOUT_HANDLER = "cloudinaryReadTimeout";
+    private static final Duration ACQUIRE_TIMEOUT = Duration.ofSeconds(5);
+    private static final Duration MAX_IDLE_TIME = Duration.ofSeconds(30);
+    private static final int MAX_DELETE_BATCH = 100;
+    private static final int MAX_CACHED_URLS = 10_000;
+    private static final int UPLOAD_CHUNK_SIZE = 16 * 1024;
+    private static final DataBufferFactory BUFFER_FACTORY = new DefaultDataBufferFactory();
+
+    private final String apiKey;
+
+    private final String apiSecret;
+
+    private final WebClient client;
+
+    private final WebClient uploadClient;
+
+    private final WebClient deliveryClient;
+
+    private final MeterRegistry registry;
+
+    private final CircuitBreaker circuitBreaker;
+
+    private final CircuitBreaker uploadBreaker;
+
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    private final Map<String, String> urlCache = Collections.synchronizedMap(new LinkedHashMap<String, String>(16,
+            0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+            return size() > MAX_CACHED_URLS;
+        }
+    });
+
+    /**
+     * Builds out the web clients with a bounded connection pool and explicit
+     * connect and read timeouts, and the circuit breakers that guard them.
+     * 
+     * @param registry  The registry to record the pool, request and breaker
+     *                  metrics in.
+     * @param apiKey    The cloudinary api key.
+     * @param apiSecret The cloudinary api secret.
+     */
+    @Autowired
+    public CloudinaryClient(MeterRegistry registry, @Value("${cloudinary.api-key}") String apiKey,
+            @Value("${cloudinary.api-secret}") String apiSecret) {
+        this.registry = registry;
+        this.apiKey = apiKey;
+        this.apiSecret = apiSecret;
+
+        ConnectionProvider provider = ConnectionProvider.builder("cloudinary").maxConnections(MAX_CONNECTIONS)
+                .pendingAcquireTimeout(ACQUIRE_TIMEOUT).maxIdleTime(MAX_IDLE_TIME).metrics(true).build();
+
+        HttpClient httpClient = HttpClient.create(provider).metrics(true).tcpConfiguration(
+                tcp -> tcp.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, CONNECT_TIMEOUT_MILLIS));
+
+        ReactorClientHttpConnector connector = connector(httpClient, READ_TIMEOUT_MILLIS);
+        client = WebClient.builder().baseUrl(String.format(API_URL, CLOUD_NAME)).clientConnector(connector)
+                .defaultHeaders(h -> h.setBasicAuth(apiKey, apiSecret)).build();
+        uploadClient = WebClient.builder().baseUrl(String.format(API_URL, CLOUD_NAME))
+                .clientConnector(connector(httpClient, UPLOAD_READ_TIMEOUT_MILLIS)).build();
+        deliveryClient = WebClient.builder().clientConnector(connector).build();
+
+        CircuitBreakerRegistry breakerRegistry = CircuitBreakerRegistry.of(breakerConfig(Duration.ofSeconds(3)));
+        circuitBreaker = breakerRegistry.circuitBreaker("cloudinary");
+        uploadBreaker = breakerRegistry.circuitBreaker("cloudinary-upload",
+                breakerConfig(Duration.ofMillis(UPLOAD_READ_TIMEOUT_MILLIS)));
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(breakerRegistry).bindTo(registry);
+    }
+
+    /**
+     * Builds a connector on the given client that times out when no response
+     * data is read for the given time once the request has been sent. The
+     * timeout is added to the connection after the request is written and
+     * removed once the response has been read.
+     * 
+     * @param httpClient        The client to build the connector on.
+     * @param readTimeoutMillis How long to wait on the response.
+     * @return {@link ReactorClientHttpConnector} with the read timeout.
+     */
+    private ReactorClientHttpConnector connector(HttpClient httpClient, int readTimeoutMillis) {
+        return new ReactorClientHttpConnector(httpClient
+                .doAfterRequest((req, conn) -> conn.addHandlerLast(READ_TIMEOUT_HANDLER,
+                        new ReadTimeoutHandler(readTimeoutMillis, TimeUnit.MILLISECONDS)))
+                .doAfterResponse((res, conn) -> conn.removeHandler(READ_TIMEOUT_HANDLER)));
+    }
+
+    /**
+     * Builds the circuit breaker settings, with calls over the given duration
+     * counted as slow.
+     * 
+     * @param slowCallDuration How long a call can take before it counts as slow.
+     * @return {@link CircuitBreakerConfig} of the breaker settings.
+     */
+    private CircuitBreakerConfig breakerConfig(Duration slowCallDuration) {
+        return CircuitBreakerConfig.custom().slidingWindowType(SlidingWindowType.COUNT_BASED).slidingWindowSize(50)
+                .minimumNumberOfCalls(10).failureRateThreshold(50).slowCallDurationThreshold(slowCallDuration)
+                .slowCallRateThreshold(80).waitDurationInOpenState(Duration.ofSeconds(30))
+                .permittedNumberOfCallsInHalfOpenState(5).recordException(this::isStorageFailure).build();
+    }
+
+    /**
+     * Gets the resource details for the given public id. This will error if the
+     * public id does not exist.
+     * 
+     * @param pid The public id of the resource.
+     * @return {@link Mono} of the resource details.
+     */
+    public Mono<Map<String, Object>> getResource(String pid) {
+        return timed("resource", client.get().uri("/resources/image/upload/" + pid).retrieve()
+                .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {
+                }));
+    }
+
+    /**
+     * Get the delivery url and metadata for the given public id.
+     * 
+     * @param pid The public id of the resource.
+     * @return {@link Mono} of the asset.
+     */
+    public Mono<CloudinaryAsset> getAsset(String pid) {
+        return getResource(pid).map(CloudinaryAsset::new).doOnNext(a -> urlCache.put(pid, a.getUrl()));
+    }
+
+    /**
+     * Get the secure url for the given public id. If cloudinary can not be reached
+     * or the circuit breaker is open then the last known url for the public id is
+     * returned, or a delivery url built from the public id if there is not one. A
+     * public id that does not exist will still error.
+     * 
+     * @param pid The public id of the resource.
+     * @return {@link Mono} of the url.
+     */
+    public Mono<String> getUrl(String pid) {
+        return getResource(pid).map(r -> r.get("secure_url").toString()).doOnNext(url -> urlCache.put(pid, url))
+                .onErrorResume(this::isStorageFailure, e -> Mono.just(getFallbackUrl(pid)));
+    }
+
+    /**
+     * Gets the url to use for the public id when cloudinary can not be reached.
+     * 
+     * @param pid The public id of the resource.
+     * @return {@link String} of the cached url or the derived delivery url.
+     */
+    public String getFallbackUrl(String pid) {
+        String url = urlCache.get(pid);
+        return url != null ? url : String.format(DELIVERY_URL, CLOUD_NAME, pid);
+    }
+
+    /**
+     * Uploads the content under the given public id through the signed upload
+     * api. The content is read in fixed size chunks only as fast as the
+     * connection can send them, so at most a few chunks of the file are held in
+     * memory at once. The stream is read on the bounded elastic scheduler so the
+     * blocking reads never run on the connection threads, and it is closed once
+     * it has been read or the upload fails.
+     * 
+     * @param pid         The public id to upload the content as.
+     * @param contentType The content type of the file.
+     * @param content     The content of the file.
+     * @return {@link Mono} of the uploaded asset.
+     */
+    public Mono<CloudinaryAsset> upload(String pid, MediaType contentType, InputStream content) {
+        Map<String, Object> params = new TreeMap<>();
+        params.put("public_id", pid);
+
+        MultipartBodyBuilder body = new MultipartBodyBuilder();
+        signed(params).forEach((k, values) -> values.forEach(v -> body.part(k, v)));
+        body.asyncPart("file", DataBufferUtils.readInputStream(() -> content, BUFFER_FACTORY, UPLOAD_CHUNK_SIZE)
+                .subscribeOn(Schedulers.boundedElastic()), DataBuffer.class).filename(pid).contentType(contentType);
+
+        return timed("upload", uploadBreaker,
+                uploadClient.post().uri("/image/upload").body(BodyInserters.fromMultipartData(body.build()))
+                        .retrieve().bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {
+                        })).map(CloudinaryAsset::new).doOnNext(a -> urlCache.put(pid, a.getUrl()));
+    }
+
+    /**
+     * Downloads the content at the given delivery url. The content comes back in
+     * chunks as it is read off the connection, and each chunk must be released
+     * once it has been used. The api credentials are not sent with the request.
+     * Only urls on the delivery host of this cloud are downloaded, so a url that
+     * did not come from cloudinary can never be fetched by the server.
+     * 
+     * @param url The delivery url of the resource.
+     * @return {@link Flux} of the content.
+     */
+    public Flux<DataBuffer> download(String url) {
+        if (url == null || !url.startsWith(String.format(DELIVERY_PREFIX, CLOUD_NAME))) {
+            return Flux.error(
+                    new IllegalArgumentException(String.format("'%s' is not a cloudinary delivery url.", url)));
+        }
+        return deliveryClient.get().uri(URI.create(url)).retrieve().bodyToFlux(DataBuffer.class)
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker));
+    }
+
+    /**
+     * Deletes the given resource and invalidates it so it can not be used again.
+     * This goes through the signed upload api.
+     * 
+     * @param pid The public id to delete.
+     * @return {@link Mono} that completes when the resource is deleted.
+     */
+    public Mono<Void> destroy(String pid) {
+        Map<String, Object> params = new TreeMap<>();
+        params.put("public_id", pid);
+        params.put("invalidate", true);
+
+        return timed("destroy", client.post().uri("/image/destroy").body(BodyInserters.fromFormData(signed(params)))
+                .retrieve().bodyToMono(Void.class));
+    }
+
+    /**
+     * Deletes all of the given resources and invalidates them. The admin api only
+     * allows a set number of ids per call so the list is split up into batches.
+     * 
+     * @param pids The public ids to delete.
+     * @return {@link Mono} that completes when all the resources are deleted.
+     */
+    public Mono<Void> deleteResources(List<String> pids) {
+        return Flux.range(0, (pids.size() + MAX_DELETE_BATCH - 1) / MAX_DELETE_BATCH)
+                .map(i -> pids.subList(i * MAX_DELETE_BATCH, Math.min(pids.size(), (i + 1) * MAX_DELETE_BATCH)))
+                .concatMap(this::deleteResourceBatch).then();
+    }
+
+    /**
+     * Deletes a single batch of resources.
+     * 
+     * @param pids The public ids to delete.
+     * @return {@link Mono} that completes when the batch is deleted.
+     */
+    private Mono<Void> deleteResourceBatch(List<String> pids) {
+        return timed("delete",
+                client.delete().uri(b -> b.path("/resources/image/upload").queryParam("public_ids[]", pids.toArray())
+                        .queryParam("invalidate", true).build()).retrieve().bodyToMono(Void.class));
+    }
+
+    /**
+     * Builds out the form data for a signed request. The signature is built from
+     * the sorted params and the api secret so nothing needs to go out to the api to
+     * sign the request.
+     * 
+     * @param params The params to sign, sorted by name.
+     * @return {@link MultiValueMap} of the params with the signature attached.
+     */
+    MultiValueMap<String, String> signed(Map<String, Object> params) {
+        params.put("timestamp", TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()));
+
+        MultiValueMap<String, String> form = new LinkedMultiValueMap<>();
+        params.forEach((k, v) -> form.add(k, v.toString()));
+        form.add("signature", sign(params));
+        form.add("api_key", apiKey);
+        return form;
+    }
+
+    /**
+     * Gets the signature for the given params.
+     * 
+     * @param params The params to sign, sorted by name.
+     * @return {@link String} of the hex encoded signature.
+     */
+    private String sign(Map<String, Object> params) {
+        String toSign = params.entrySet().stream().map(e -> e.getKey() + "=" + e.getValue())
+                .collect(Collectors.joining("&")) + apiSecret;
+
+        try {
+            StringBuilder hex = new StringBuilder();
+            for (byte b : MessageDigest.getInstance("SHA-1").digest(toSign.getBytes(StandardCharsets.UTF_8))) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not sign cloudinary request.", e);
+        }
+    }
+
+    /**
+     * Determines if the given error is a failure of the storage service itself,
+     * rather than a bad request such as a public id that does not exist.
+     * 
+     * @param e The error to check.
+     * @return {@link boolean} if it should count as a storage failure.
+     */
+    private boolean isStorageFailure(Throwable e) {
+        return !(e instanceof WebClientResponseException)
+                || ((WebClientResponseException) e).getStatusCode().is5xxServerError();
+    }
+
+    /**
+     * Records how long the given call took under the operation name. The call is
+     * run through the circuit breaker so it fails fast while the breaker is open.
+     * 
+     * @param <T>       The type returned by the call.
+     * @param operation The name of the operation being called.
+     * @param call      The call to time.
+     * @return {@link Mono} of the call that records its time when it finishes.
+     */
+    private <T> Mono<T> timed(String operation, Mono<T> call) {
+        return timed(operation, circuitBreaker, call);
+    }
+
+    /**
+     * Records how long the given call took under the operation name. The call is
+     * run through the given circuit breaker.
+     * 
+     * @param <T>       The type returned by the call.
+     * @param operation The name of the operation being called.
+     * @param breaker   The circuit breaker to run the call through.
+     * @param call      The call to time.
+     * @return {@link Mono} of the call that records its time when it finishes.
+     */
+    private <T> Mono<T> timed(String operation, CircuitBreaker breaker, Mono<T> call) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return call.transformDeferred(CircuitBreakerOperator.of(breaker)).doFinally(
+                    signal -> getTimer(operation, signal).record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+        });
+    }
+
+    /**
+     * Gets the timer for the operation and the signal it finished with. Each
+     * timer is registered once and reused for every call after that.
+     * 
+     * @param operation The name of the operation.
+     * @param signal    The signal the call finished with.
+     * @return {@link Timer} to record the call in.
+     */
+    private Timer getTimer(String operation, SignalType signal) {
+        return timers.computeIfAbsent(operation + ":" + signal,
+                k -> Timer.builder("cloudinary.requests").tag("operation", operation)
+                        .tag("signal", signal.toString()).publishPercentiles(0.5, 0.99).register(registry));
+    }
+}
@@ -1,35 +1,31 @@
 package com.digital.receipt.service.cloudinary;
 
+import java.io.InputStream;
+import java.time.Duration;
 import java.util.List;
 
-import com.cloudinary.Cloudinary;
-import com.cloudinary.utils.ObjectUtils;
+import com.digital.receipt.service.cloudinary.domain.CloudinaryAsset;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 
 /**
  * Receipt Cloud that manages the cloudinary S3 bucket so receipts can be
- * pulled, updated or deleted if need be.
+ * pulled, updated or deleted if need be. This is the blocking facade over the
+ * {@link CloudinaryClient} for callers that are not reactive.
  * 
  * @author Sam Butler
  * @since November 6, 2021
  */
 @Service
 public class ReceiptCloud {
-    private final String CLOUD_NAME = "hwxm9amax";
-    private final String API_KEY = "656249988229398";
-    private final String API_SECRET = "NO6Ydnn_UIFwAzanYJL3Xm0xkb8";
+    private static final Duration BLOCK_TIMEOUT = Duration.ofSeconds(15);
+    private static final Duration UPLOAD_TIMEOUT = Duration.ofSeconds(60);
 
-    private Cloudinary cloud;
-
-    /**
-     * Default constructor for when the class is invoked, then the cloudinary can be
-     * initialized and used to upload files.
-     */
-    public ReceiptCloud() {
-        cloud = new Cloudinary(ObjectUtils.asMap("cloud_name", CLOUD_NAME, "api_key", API_KEY, "api_secret", API_SECRET,
-                "secure", true));
-    }
+    @Autowired
+    private CloudinaryClient client;
 
     /**
      * API call that will delete the given receipt from the cloudinary S3 bucket. It
@@ -41,7 +37,7 @@ public class ReceiptCloud {
      * @throws Exception
      */
     public void delete(String pid) throws Exception {
-        cloud.uploader().destroy(pid, ObjectUtils.asMap("invalidate", true));
+        client.destroy(pid).block(BLOCK_TIMEOUT);
     }
 
     /**
@@ -51,7 +47,7 @@ public class ReceiptCloud {
      * @throws Exception
      */
     public void delete(List<String> pids) throws Exception {
-        cloud.api().deleteResources(pids, ObjectUtils.asMap("invalidate", true));
+        client.deleteResources(pids).block(BLOCK_TIMEOUT);
     }
 
     /**
@@ -63,6 +59,63 @@ public class ReceiptCloud {
      * @throws Exception If the public id can not be found.
      */
     public String getUrl(String pid) throws Exception {
-        return cloud.api().resource(pid, ObjectUtils.emptyMap()).get("secure_url").toString();
+        return client.getUrl(pid).block(BLOCK_TIMEOUT);
+    }
+
+    /**
+     * Get the delivery url for the given public id without calling cloudinary.
+     * This is the last url looked up for the public id, or one built from it.
+     * 
+     * @param pid The id of the image to get the url of.
+     * @return {@link String} of the url.
+     */
+    public String getDeliveryUrl(String pid) {
+        return client.getFallbackUrl(pid);
+    }
+
+    /**
+     * Get the delivery url and metadata for the given public id. If the public id
+     * does not exist or cloudinary can not be reached this will throw an error.
+     * 
+     * @param pid The id of the image to search for.
+     * @return {@link CloudinaryAsset} of the image.
+     * @throws Exception If the asset can not be found.
+     */
+    public CloudinaryAsset getAsset(String pid) throws Exception {
+        return client.getAsset(pid).block(BLOCK_TIMEOUT);
+    }
+
+    /**
+     * Uploads the given content to the cloudinary S3 bucket under the public id.
+     * The content is streamed to cloudinary as it is read and is closed when the
+     * upload is done.
+     * 
+     * @param pid         The public id to upload the content as.
+     * @param contentType The content type of the file.
+     * @param content     The content of the file.
+     * @return {@link CloudinaryAsset} of the uploaded image.
+     * @throws Exception If the upload fails.
+     */
+    public CloudinaryAsset upload(String pid, MediaType contentType, InputStream content) throws Exception {
+        return client.upload(pid, contentType, content).block(UPLOAD_TIMEOUT);
+    }
+
+    /**
+     * Downloads the content at the given delivery url. The download fails as soon
+     * as more than the given number of bytes have been read, so a large file is
+     * never buffered whole.
+     * 
+     * @param url      The delivery url of the image.
+     * @param maxBytes The most bytes the content may have.
+     * @return {@link byte[]} of the content.
+     * @throws Exception If the content can not be downloaded or is too large.
+     */
+    public byte[] getContent(String url, int maxBytes) throws Exception {
+        return DataBufferUtils.join(client.download(url), maxBytes).map(b -> {
+            byte[] content = new byte[b.readableByteCount()];
+            b.read(content);
+            DataBufferUtils.release(b);
+            return content;
+        }).block(BLOCK_TIMEOUT);
     }
 }
@@ -0,0 +1,88 @@
+package com.digital.receipt.service.cloudinary.domain;
+
+import java.util.Map;
+
+/**
+ * The delivery url and metadata of an uploaded cloudinary asset.
+ * 
+ * @author Sam Butler
+ * @since October 19, 2026
+ */
+public class CloudinaryAsset {
+    private String url;
+
+    private String format;
+
+    private Long bytes;
+
+    private Integer width;
+
+    private Integer height;
+
+    private Long version;
+
+    public CloudinaryAsset() {
+    }
+
+    /**
+     * Builds the asset from a cloudinary resource response.
+     * 
+     * @param resource The resource response.
+     */
+    public CloudinaryAsset(Map<String, Object> resource) {
+        url = resource.get("secure_url") == null ? null : resource.get("secure_url").toString();
+        format = resource.get("format") == null ? null : resource.get("format").toString();
+        bytes = resource.get("bytes") == null ? null : ((Number) resource.get("bytes")).longValue();
+        width = resource.get("width") == null ? null : ((Number) resource.get("width")).intValue();
+        height = resource.get("height") == null ? null : ((Number) resource.get("height")).intValue();
+        version = resource.get("version") == null ? null : ((Number) resource.get("version")).longValue();
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public void setFormat(String format) {
+        this.format = format;
+    }
+
+    public Long getBytes() {
+        return bytes;
+    }
+
+    public void setBytes(Long bytes) {
+        this.bytes = bytes;
+    }
+
+    public Integer getWidth() {
+        return width;
+    }
+
+    public void setWidth(Integer width) {
+        this.width = width;
+    }
+
+    public Integer getHeight() {
+        return height;
+    }
+
+    public void setHeight(Integer height) {
+        this.height = height;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
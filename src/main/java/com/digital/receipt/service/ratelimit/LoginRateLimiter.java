@@ -0,0 +1,110 @@
+package com.digital.receipt.service.ratelimit;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.servlet.http.HttpServletRequest;
+
+import com.digital.receipt.common.exceptions.TooManyRequestsException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Limits the login attempts per client ip and per email. Attempts over the
+ * limit are rejected before any database or hashing work is done. Idle buckets
+ * are swept out by a background thread. Emails can be made up for free, so once
+ * the email limiter is full new emails are only limited per ip, instead of
+ * sharing a bucket that a flood of made up emails would keep empty for every
+ * real user.
+ * 
+ * The client ip is the remote address of the request. Tomcat resolves it from
+ * the forwarded for header, only trusting the entries added by the proxies set
+ * in {@code server.tomcat.internal-proxies}.
+ * 
+ * @author Sam Butler
+ * @since October 19, 2026
+ */
+@Service
+public class LoginRateLimiter {
+    @Value("${auth.rate-limit.ip.capacity:20}")
+    private int ipCapacity;
+
+    @Value("${auth.rate-limit.ip.per-minute:20}")
+    private int ipPerMinute;
+
+    @Value("${auth.rate-limit.email.capacity:5}")
+    private int emailCapacity;
+
+    @Value("${auth.rate-limit.email.per-minute:5}")
+    private int emailPerMinute;
+
+    @Value("${auth.rate-limit.max-keys:100000}")
+    private int maxKeys;
+
+    private TokenBucketLimiter ipLimiter;
+
+    private TokenBucketLimiter emailLimiter;
+
+    private ScheduledExecutorService sweeper;
+
+    /**
+     * Builds the limiters and starts the idle bucket sweep.
+     */
+    @PostConstruct
+    public void init() {
+        ipLimiter = new TokenBucketLimiter(ipCapacity, ipPerMinute, maxKeys);
+        emailLimiter = new TokenBucketLimiter(emailCapacity, emailPerMinute, maxKeys, true);
+
+        sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "login-rate-limit-sweep");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sweeper.scheduleWithFixedDelay(() -> {
+            ipLimiter.evictIdle();
+            emailLimiter.evictIdle();
+        }, 30, 30, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Stops the sweep when the application shuts down.
+     */
+    @PreDestroy
+    public void shutdown() {
+        sweeper.shutdownNow();
+    }
+
+    /**
+     * Takes a login attempt for the client of the current request and the given
+     * email.
+     * 
+     * @param email The email being logged in to.
+     * @throws TooManyRequestsException If the client or email is over the limit.
+     */
+    public void acquire(String email) {
+        HttpServletRequest request = ((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes())
+                .getRequest();
+        check(ipLimiter.acquire(request.getRemoteAddr()));
+        if (email != null) {
+            check(emailLimiter.acquire(email.trim().toLowerCase()));
+        }
+    }
+
+    /**
+     * Throws if the limiter asked to wait.
+     * 
+     * @param waitNanos The time until the next attempt is allowed.
+     */
+    private void check(long waitNanos) {
+        if (waitNanos > 0) {
+            throw new TooManyRequestsException("Too many login attempts. Try again later.",
+                    TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1);
+        }
+    }
+}
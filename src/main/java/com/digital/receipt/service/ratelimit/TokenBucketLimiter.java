@@ -0,0 +1,189 @@
+package com.digital.receipt.service.ratelimit;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket per key. Each bucket is a single {@link AtomicLong} holding the
+ * time the bucket will be full again, so taking a token is one compare and set
+ * with no locks. A bucket that is full holds no state a new bucket would not,
+ * so idle buckets can be evicted at any time.
+ * 
+ * The number of keys is capped. Once the cap is hit idle buckets are evicted,
+ * and keys that still do not fit either share a single overflow bucket or, when
+ * the limiter fails open, are let through without a bucket. This keeps the
+ * memory bounded when a caller makes up a new key for every request. Failing
+ * open is for keys a caller can make up for free, like emails, where a shared
+ * bucket would let one caller lock out every other key, and where another
+ * limiter still applies to the caller.
+ * 
+ * @author Sam Butler
+ * @since October 19, 2026
+ */
+public class TokenBucketLimiter {
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    private static final long EVICT_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong overflow;
+
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    private final AtomicInteger reserved = new AtomicInteger();
+
+    private volatile long lastEviction;
+
+    private final long intervalNanos;
+
+    private final long burstNanos;
+
+    private final int maxKeys;
+
+    private final boolean failOpen;
+
+    /**
+     * Creates a limiter where each key can make {@code capacity} requests at once
+     * and gets a new token {@code refillPerMinute} times a minute. Keys that do not
+     * fit share the overflow bucket.
+     * 
+     * @param capacity        The number of tokens a full bucket holds.
+     * @param refillPerMinute How many tokens are added a minute.
+     * @param maxKeys         The most keys to keep a bucket for.
+     */
+    public TokenBucketLimiter(int capacity, int refillPerMinute, int maxKeys) {
+        this(capacity, refillPerMinute, maxKeys, false);
+    }
+
+    /**
+     * Creates a limiter where each key can make {@code capacity} requests at once
+     * and gets a new token {@code refillPerMinute} times a minute.
+     * 
+     * @param capacity        The number of tokens a full bucket holds.
+     * @param refillPerMinute How many tokens are added a minute.
+     * @param maxKeys         The most keys to keep a bucket for.
+     * @param failOpen        If keys that do not fit are let through instead of
+     *                        sharing the overflow bucket.
+     */
+    public TokenBucketLimiter(int capacity, int refillPerMinute, int maxKeys, boolean failOpen) {
+        this.intervalNanos = TimeUnit.MINUTES.toNanos(1) / refillPerMinute;
+        this.burstNanos = intervalNanos * (capacity - 1);
+        this.maxKeys = maxKeys;
+        this.failOpen = failOpen;
+        this.overflow = new AtomicLong(System.nanoTime());
+        this.lastEviction = System.nanoTime();
+    }
+
+    /**
+     * Takes a token from the bucket of the given key.
+     * 
+     * @param key The key to take the token for.
+     * @return {@link long} of 0 if a token was taken, otherwise the nanoseconds
+     *         until the next token is added.
+     */
+    public long acquire(String key) {
+        long now = System.nanoTime();
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = newBucket(key, now);
+            if (bucket == null) {
+                return 0;
+            }
+        }
+
+        while (true) {
+            long full = bucket.get();
+            long start = full - now > 0 ? full : now;
+            long wait = start - now - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(full, start + intervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Removes the buckets that are full again.
+     * 
+     * @return {@link int} of the number of buckets removed.
+     */
+    public int evictIdle() {
+        if (!evicting.compareAndSet(false, true)) {
+            return 0;
+        }
+
+        try {
+            long now = System.nanoTime();
+            int removed = 0;
+            for (Map.Entry<String, AtomicLong> e : buckets.entrySet()) {
+                if (e.getValue().get() - now <= 0 && buckets.remove(e.getKey(), e.getValue())) {
+                    reserved.decrementAndGet();
+                    removed++;
+                }
+            }
+            lastEviction = now;
+            return removed;
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    /**
+     * Gets the number of keys with a bucket.
+     * 
+     * @return {@link int} of the number of keys.
+     */
+    public int size() {
+        return buckets.size();
+    }
+
+    /**
+     * Adds a bucket for the key. A slot is reserved before the bucket is added,
+     * so the number of keys never goes over the cap even when many threads add
+     * keys at once. If the limiter is full the idle buckets are evicted first, at
+     * most once a second so a flood of new keys does not turn into a scan per
+     * request. If it is still full the overflow bucket is used, or no bucket if
+     * the limiter fails open.
+     * 
+     * @param key The key to add the bucket for.
+     * @param now The current time.
+     * @return {@link AtomicLong} of the bucket to use for the key, or null if the
+     *         key should be let through.
+     */
+    private AtomicLong newBucket(String key, long now) {
+        if (!reserve()) {
+            if (now - lastEviction > EVICT_INTERVAL_NANOS) {
+                evictIdle();
+            }
+            if (!reserve()) {
+                return failOpen ? null : overflow;
+            }
+        }
+
+        AtomicLong bucket = new AtomicLong(now);
+        AtomicLong existing = buckets.putIfAbsent(key, bucket);
+        if (existing != null) {
+            reserved.decrementAndGet();
+            return existing;
+        }
+        return bucket;
+    }
+
+    /**
+     * Reserves a slot for a new key if there is room for one.
+     * 
+     * @return {@link boolean} if a slot was reserved.
+     */
+    private boolean reserve() {
+        if (reserved.incrementAndGet() > maxKeys) {
+            reserved.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,138 @@
+package com.digital.receipt.service.thumbnail;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.annotation.PostConstruct;
+
+import com.digital.receipt.service.util.ContentHashUtil;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Least recently used cache of thumbnails on the local disk. The cache is
+ * bounded by the total size of the files in it, and the least recently used
+ * files are deleted once it goes over. Files are written to a temp file and
+ * moved into place so a reader never sees a partial file. The cache only holds
+ * derived images, so it is cleared on startup instead of being reloaded.
+ * 
+ * @author Sam Butler
+ * @since October 19, 2026
+ */
+@Component
+public class ThumbnailCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ThumbnailCache.class);
+
+    @Value("${receipt.thumbnail.cache.dir:${java.io.tmpdir}/receipt-thumbnails}")
+    private String dir;
+
+    @Value("${receipt.thumbnail.cache.max-bytes:268435456}")
+    private long maxBytes;
+
+    private final Map<String, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long totalBytes;
+
+    private Path root;
+
+    /**
+     * Creates the cache directory and clears out any files left from a previous
+     * run.
+     * 
+     * @throws IOException If the directory can not be created.
+     */
+    @PostConstruct
+    public void init() throws IOException {
+        root = Files.createDirectories(Paths.get(dir));
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(root)) {
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    /**
+     * Gets the cached file for the key and marks it as recently used.
+     * 
+     * @param key The key of the thumbnail.
+     * @return {@link Path} of the cached file, or null if it is not cached.
+     */
+    public synchronized Path get(String key) {
+        return entries.get(key) == null ? null : path(key);
+    }
+
+    /**
+     * Writes the content to the cache under the key, evicting the least recently
+     * used files if the cache goes over its size.
+     * 
+     * @param key     The key of the thumbnail.
+     * @param content The content of the thumbnail.
+     * @return {@link Path} of the cached file.
+     * @throws IOException If the file can not be written.
+     */
+    public Path put(String key, byte[] content) throws IOException {
+        Path target = path(key);
+        Path temp = Files.createTempFile(root, "thumbnail", ".tmp");
+        try {
+            Files.write(temp, content);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+
+        synchronized (this) {
+            Long previous = entries.put(key, (long) content.length);
+            totalBytes += content.length - (previous == null ? 0 : previous);
+            evict(key);
+        }
+        return target;
+    }
+
+    /**
+     * Deletes the least recently used files until the cache is back under its
+     * size. The file that was just written is never evicted.
+     * 
+     * @param keep The key that was just written.
+     */
+    private void evict(String keep) {
+        Iterator<Map.Entry<String, Long>> it = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && it.hasNext()) {
+            Map.Entry<String, Long> eldest = it.next();
+            if (eldest.getKey().equals(keep)) {
+                continue;
+            }
+
+            it.remove();
+            totalBytes -= eldest.getValue();
+            try {
+                Files.deleteIfExists(path(eldest.getKey()));
+            } catch (IOException e) {
+                LOGGER.warn("Could not delete cached thumbnail '{}'", eldest.getKey(), e);
+            }
+        }
+    }
+
+    /**
+     * Gets the path of the cached file for the key. The file is named by the hash
+     * of the key so every key gets its own file whatever characters it has.
+     * 
+     * @param key The key of the thumbnail.
+     * @return {@link Path} of the file.
+     */
+    private Path path(String key) {
+        return root.resolve(
+                ContentHashUtil.toHex(ContentHashUtil.newDigest().digest(key.getBytes(StandardCharsets.UTF_8)))
+                        + ".jpg");
+    }
+}
@@ -0,0 +1,61 @@
+package com.digital.receipt.service.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Class used to hash the content of uploaded files so the same file can be
+ * recognized no matter who uploads it or what it is named.
+ * 
+ * @author Sam Butler
+ * @since October 19, 2026
+ */
+public class ContentHashUtil {
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    /**
+     * Gets a new SHA-256 digest to hash content with.
+     * 
+     * @return {@link MessageDigest} for SHA-256.
+     */
+    public static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not get the content hash digest.", e);
+        }
+    }
+
+    /**
+     * Hashes the given content with SHA-256. The content is read in fixed size
+     * chunks and is not closed.
+     * 
+     * @param content The content to hash.
+     * @return {@link String} of the hex encoded hash.
+     * @throws IOException If the content can not be read.
+     */
+    public static String hash(InputStream content) throws IOException {
+        MessageDigest digest = newDigest();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        for (int n = content.read(buffer); n != -1; n = content.read(buffer)) {
+            digest.update(buffer, 0, n);
+        }
+        return toHex(digest.digest());
+    }
+
+    /**
+     * Gets the hex string of the given hash.
+     * 
+     * @param hash The hash to convert.
+     * @return {@link String} of the hex encoded hash.
+     */
+    public static String toHex(byte[] hash) {
+        StringBuilder hex = new StringBuilder(hash.length * 2);
+        for (byte b : hash) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+}
@@ -0,0 +1,120 @@
+package com.digital.receipt.service.util;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import com.digital.receipt.common.exceptions.TooManyRequestsException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Runs password hashing on a pool with one thread per core, so a burst of
+ * logins is limited to the cpu it can actually use instead of holding request
+ * threads. The credential check that follows the hash runs on a second small
+ * pool of its own, so it never queues behind other background work and never
+ * holds a hashing thread while it waits on the database. Work past the backlog
+ * of either pool is rejected with a {@link TooManyRequestsException} rather
+ * than queued without bound.
+ * 
+ * @author Sam Butler
+ * @since October 19, 2026
+ */
+@Service
+public class PasswordHashExecutor {
+
+    @Value("${auth.hash.backlog:256}")
+    private int backlog;
+
+    @Value("${auth.check.threads:4}")
+    private int checkThreads;
+
+    private ThreadPoolExecutor executor;
+
+    private ThreadPoolExecutor checkExecutor;
+
+    /**
+     * Builds the hashing and credential check pools.
+     */
+    @PostConstruct
+    public void init() {
+        executor = newPool("password-hash-", Runtime.getRuntime().availableProcessors());
+        checkExecutor = newPool("credential-check-", checkThreads);
+    }
+
+    /**
+     * Stops the pools when the application shuts down.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        checkExecutor.shutdownNow();
+    }
+
+    /**
+     * Gets the executor to check the credentials on once the password is hashed.
+     * If its backlog is full the work is rejected with a
+     * {@link TooManyRequestsException}.
+     * 
+     * @return {@link Executor} of the credential check pool.
+     */
+    public Executor getCheckExecutor() {
+        return work -> {
+            try {
+                checkExecutor.execute(work);
+            } catch (RejectedExecutionException e) {
+                throw new TooManyRequestsException("Too many logins in progress. Try again later.", 1);
+            }
+        };
+    }
+
+    /**
+     * Submits the hashing work to the pool.
+     * 
+     * @param <T>  The type the work returns.
+     * @param work The hashing to do.
+     * @return {@link CompletableFuture} of the result of the work.
+     * @throws TooManyRequestsException If the backlog is full.
+     */
+    public <T> CompletableFuture<T> submit(Callable<T> work) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                try {
+                    future.complete(work.call());
+                } catch (Exception e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            throw new TooManyRequestsException("Too many logins in progress. Try again later.", 1);
+        }
+        return future;
+    }
+
+    /**
+     * Builds a fixed size pool of daemon threads with a bounded backlog.
+     * 
+     * @param name    The prefix of the thread names.
+     * @param threads The number of threads.
+     * @return {@link ThreadPoolExecutor} of the pool.
+     */
+    private ThreadPoolExecutor newPool(String name, int threads) {
+        AtomicInteger count = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(backlog),
+                r -> {
+                    Thread thread = new Thread(r, name + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+}
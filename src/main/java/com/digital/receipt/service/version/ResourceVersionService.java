@@ -0,0 +1,56 @@
+package com.digital.receipt.service.version;
+
+import com.digital.receipt.common.enums.VersionedResource;
+import com.digital.receipt.service.version.dao.ResourceVersionDao;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps the version of each resource for each user. Every write to a resource
+ * bumps the version so the etag built from it changes. The versions are stored
+ * in the database and bumped in the same transaction as the write, so every
+ * instance builds the same etag and a write on one instance is seen by all of
+ * them.
+ * 
+ * @author Sam Butler
+ * @since October 19, 2026
+ */
+@Service
+public class ResourceVersionService {
+
+    @Autowired
+    private ResourceVersionDao dao;
+
+    /**
+     * Builds the weak etag of the resource for the given user in the given media
+     * type. The etag is weak because it names the version of the data, not the
+     * bytes sent, and tomcat does not compress responses that carry a strong
+     * etag. The media type is part of the etag so a json and a cbor body of the
+     * same version never share one.
+     * 
+     * @param resource  The resource to get the etag of.
+     * @param userId    The user the resource belongs to.
+     * @param mediaType The media type the resource is sent in.
+     * @return {@link String} of the weak etag.
+     * @throws Exception If the version can not be read.
+     */
+    public String getETag(VersionedResource resource, int userId, MediaType mediaType) throws Exception {
+        return String.format("W/\"%s-%x-%s\"", resource.name().toLowerCase(), dao.getVersion(resource, userId),
+                mediaType.getSubtype());
+    }
+
+    /**
+     * Bumps the version of the resource for the given user. If a transaction is
+     * active the bump is part of it, so the new version is only seen once the
+     * write is committed.
+     * 
+     * @param resource The resource that was written.
+     * @param userId   The user the resource belongs to.
+     * @throws Exception If the version can not be written.
+     */
+    public void bump(VersionedResource resource, int userId) throws Exception {
+        dao.bump(resource, userId);
+    }
+}
@@ -0,0 +1,48 @@
+package com.digital.receipt.service.version.dao;
+
+import java.util.List;
+import java.util.Map;
+
+import com.digital.receipt.common.abstracts.AbstractSqlDao;
+import com.digital.receipt.common.enums.VersionedResource;
+
+import org.springframework.stereotype.Repository;
+
+/**
+ * Class that handles all the dao calls to the database for resource versions.
+ * 
+ * @author Sam Butler
+ * @since October 19, 2026
+ */
+@Repository
+public class ResourceVersionDao extends AbstractSqlDao {
+
+    /**
+     * Gets the version of the resource for the given user. It is read from the
+     * primary so a conditional get never answers not modified with a version the
+     * replica has not caught up to yet. The rest of the request then reads from
+     * the primary too, so the data sent is never older than the version.
+     * 
+     * @param resource The resource to get the version of.
+     * @param userId   The user the resource belongs to.
+     * @return {@link long} of the version, or 0 if it was never written.
+     * @throws Exception
+     */
+    public long getVersion(VersionedResource resource, int userId) throws Exception {
+        List<Map<String, Object>> rows = sqlClient.getPrimaryListMap(getSql("getResourceVersion"),
+                params("resource", resource.name()).addValue("userId", userId));
+        return rows.isEmpty() ? 0 : ((Number) rows.get(0).get("version")).longValue();
+    }
+
+    /**
+     * Bumps the version of the resource for the given user. This runs in the
+     * transaction of the caller if there is one.
+     * 
+     * @param resource The resource that was written.
+     * @param userId   The user the resource belongs to.
+     * @throws Exception
+     */
+    public void bump(VersionedResource resource, int userId) throws Exception {
+        sqlClient.update(getSql("bumpResourceVersion"), params("resource", resource.name()).addValue("userId", userId));
+    }
+}
@@ -1,5 +1,6 @@
 package com.digital.receipt.sql;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
@@ -13,6 +14,7 @@ import javax.script.ScriptException;
 
 import com.digital.receipt.common.enums.QueryTag;
 import com.digital.receipt.common.exceptions.MaliciousSqlQueryException;
+import com.digital.receipt.sql.domain.PreparedSql;
 import com.digital.receipt.sql.domain.SqlParams;
 
 import org.springframework.stereotype.Service;
@@ -59,6 +61,34 @@ public class SqlBundler {
      * @return {@link String} of the modified query.
      */
     public String bundle(List<String> query, SqlParams params) {
+        return bundle(query, params, null);
+    }
+
+    /**
+     * Prepares the query to be run as a prepared statement. The conditions are
+     * resolved against the given params the same as {@link #bundle}, but every
+     * param is left as a {@code ?} placeholder instead of having its value written
+     * into the sql. Collection params are not supported.
+     * 
+     * @param query  The query string to be prepared.
+     * @param params The params used to resolve the conditions.
+     * @return {@link PreparedSql} of the sql and the order of its params.
+     */
+    public PreparedSql prepare(List<String> query, SqlParams params) {
+        List<String> paramNames = new ArrayList<>();
+        return new PreparedSql(bundle(query, params, paramNames), paramNames);
+    }
+
+    /**
+     * Bundles the query, writing the values into the sql or, if the param name list
+     * is given, leaving placeholders and adding each param name to the list.
+     * 
+     * @param query      The query string to be populated with the params.
+     * @param params     The params to populate the string with.
+     * @param paramNames List to add the placeholder names to, or null.
+     * @return {@link String} of the modified query.
+     */
+    private String bundle(List<String> query, SqlParams params, List<String> paramNames) {
         resetConditionStatus();
 
         int index = 0;
@@ -67,11 +97,15 @@ public class SqlBundler {
                 query.set(index, "");
             } else {
                 deleteNextLine = false;
+                if (line.trim().startsWith(QueryTag.WHERE.text())) {
+                    hasWhereCondition = true;
+                }
 
                 if (getConditionTagMatcher(query.get(index)).find()) {
                     query.set(index, replaceCondition(line, params));
                 } else if (getParamTagMatcher(query.get(index)).find()) {
-                    query.set(index, replaceParam(line, params));
+                    query.set(index, paramNames == null ? replaceParam(line, params)
+                            : replacePlaceholders(line, paramNames));
                 }
                 previousSpaceCount = line.indexOf(line.trim());
             }
@@ -184,6 +218,23 @@ public class SqlBundler {
         return line;
     }
 
+    /**
+     * Replaces each param found in the string with a {@code ?} placeholder and adds
+     * its name to the list in the order they appear.
+     * 
+     * @param line       The line the params will be replaced in.
+     * @param paramNames The list to add the param names to.
+     * @return {@link String} with all the params replaced.
+     */
+    private String replacePlaceholders(String line, List<String> paramNames) {
+        Matcher m = getParamTagMatcher(line);
+
+        while (m.find()) {
+            paramNames.add(m.group(0).replace(":", "").trim());
+        }
+        return m.replaceAll("?");
+    }
+
     /**
      * This will determine if the given expression in the annotation parentheses is
      * valid and the expression evaultes to true.
@@ -1,25 +1,47 @@
 package com.digital.receipt.sql;
 
+import java.lang.reflect.UndeclaredThrowableException;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import javax.sql.DataSource;
 
+import com.digital.receipt.sql.domain.PreparedSql;
+import com.digital.receipt.sql.domain.RowConsumer;
+import com.digital.receipt.sql.domain.SqlFragment;
 import com.digital.receipt.sql.domain.SqlParams;
+import com.digital.receipt.sql.domain.SqlTransaction;
+import com.digital.receipt.sql.metrics.QueryTiming;
+import com.digital.receipt.sql.metrics.SqlMetrics;
+import com.digital.receipt.sql.metrics.TimedDataSource;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 /**
- * Common SQL Service to make API calls to the database
+ * Common SQL Service to make API calls to the database. Reads are sent to the
+ * replica datasource when one is configured and writes always go to the
+ * primary. Once a write has been made in a request the rest of that request
+ * reads from the primary so it sees its own writes. Every fragment query is
+ * timed through {@link SqlMetrics}.
  * 
  * @author Sam Butler
  * @since August 1, 2021
@@ -27,25 +49,40 @@ import org.springframework.stereotype.Service;
 @Service
 public class SqlClient {
 
+	private static final String PRIMARY_STICKY_ATTRIBUTE = SqlClient.class.getName() + ".PRIMARY_STICKY";
+
 	@Autowired
 	private SqlBundler bundler;
 
+	@Autowired
+	private SqlMetrics metrics;
+
 	private static JdbcTemplate jdbcTemplateObject;
 
+	private static JdbcTemplate replicaTemplateObject;
+
+	private static TransactionTemplate transactionTemplate;
+
 	/**
 	 * Constructor to autowire the datasource with the template object so it can be
-	 * used to make database calls
+	 * used to make database calls. If a replica pool is configured reads use it,
+	 * otherwise reads use the primary as well.
 	 * 
+	 * @param source  The primary datasource.
+	 * @param replica The read replica datasource, if one is configured.
 	 * @see {@link DataSource}
 	 */
 	@Autowired
-	public SqlClient(DataSource source) {
+	public SqlClient(DataSource source, @Qualifier("replicaDataSource") Optional<DataSource> replica) {
 		try {
 			source.getConnection();
 		} catch (SQLException e) {
 			e.printStackTrace();
 		}
-		jdbcTemplateObject = new JdbcTemplate(source);
+		DataSource primary = new TimedDataSource(source);
+		jdbcTemplateObject = new JdbcTemplate(primary);
+		transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(primary));
+		replicaTemplateObject = replica.map(r -> new JdbcTemplate(new TimedDataSource(r))).orElse(jdbcTemplateObject);
 	}
 
 	/**
@@ -57,8 +94,50 @@ public class SqlClient {
 	 * @param mapper - The mapper to manipulate the data as.
 	 * @return Generic object
 	 */
-	public <T> List<T> getPage(List<String> query, SqlParams params, RowMapper<T> mapper) {
-		return jdbcTemplateObject.query(bundler.bundle(query, params), mapper);
+	public <T> List<T> getPage(SqlFragment query, SqlParams params, RowMapper<T> mapper) {
+		QueryTiming timing = metrics.start(query);
+		String sql = timing.render(() -> bundler.bundle(query.getLines(), params));
+		return timing.execute(() -> readTemplate().query(sql, timing.mapper(mapper)));
+	}
+
+	/**
+	 * Streams the rows from the given query to the consumer one at a time. The
+	 * statement is opened as a forward only streaming result set so the driver does
+	 * not pull the whole result into memory before the first row is handed off.
+	 * 
+	 * @param <T>      Class object to map the rows as.
+	 * @param query    Query to execute.
+	 * @param params   The params to attach to the query string.
+	 * @param mapper   The mapper to manipulate the data as.
+	 * @param consumer What to do with each mapped row.
+	 */
+	public <T> void stream(SqlFragment query, SqlParams params, RowMapper<T> mapper, RowConsumer<T> consumer) {
+		QueryTiming timing = metrics.start(query);
+		String sql = timing.render(() -> bundler.bundle(query.getLines(), params));
+		RowMapper<T> timedMapper = timing.mapper(mapper);
+
+		timing.execute(() -> {
+			readTemplate().query(connection -> {
+				PreparedStatement ps = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY,
+						ResultSet.CONCUR_READ_ONLY);
+				ps.setFetchSize(Integer.MIN_VALUE);
+				return ps;
+			}, new RowCallbackHandler() {
+				private int rowNum = 0;
+
+				@Override
+				public void processRow(ResultSet rs) throws SQLException {
+					try {
+						consumer.accept(timedMapper.mapRow(rs, rowNum++));
+					} catch (SQLException e) {
+						throw e;
+					} catch (Exception e) {
+						throw new SQLException("Could not process streamed row.", e);
+					}
+				}
+			});
+			return null;
+		});
 	}
 
 	/**
@@ -70,8 +149,10 @@ public class SqlClient {
 	 * @param mapper The mapper to manipulate the data as.
 	 * @return Generic object
 	 */
-	public <T> T getTemplate(List<String> query, SqlParams params, RowMapper<T> mapper) {
-		return jdbcTemplateObject.queryForObject(bundler.bundle(query, params), mapper);
+	public <T> T getTemplate(SqlFragment query, SqlParams params, RowMapper<T> mapper) {
+		QueryTiming timing = metrics.start(query);
+		String sql = timing.render(() -> bundler.bundle(query.getLines(), params));
+		return timing.execute(() -> readTemplate().queryForObject(sql, timing.mapper(mapper)));
 	}
 
 	/**
@@ -81,8 +162,41 @@ public class SqlClient {
 	 * @param params The params to add to the query.
 	 * @return Generic object
 	 */
-	public List<Map<String, Object>> getListMap(List<String> query, SqlParams params) {
-		return jdbcTemplateObject.queryForList(bundler.bundle(query, params));
+	public List<Map<String, Object>> getListMap(SqlFragment query, SqlParams params) {
+		return getListMap(query, params, readTemplate());
+	}
+
+	/**
+	 * Gets list of maps from the primary, for reads that must see every committed
+	 * write and not lag behind with the replica. Any reads after it during the
+	 * current request also go to the primary, so they never see older data than
+	 * this read did.
+	 * 
+	 * @param query  The query to be executed.
+	 * @param params The params to add to the query.
+	 * @return Generic object
+	 */
+	public List<Map<String, Object>> getPrimaryListMap(SqlFragment query, SqlParams params) {
+		stickToPrimary();
+		return getListMap(query, params, jdbcTemplateObject);
+	}
+
+	/**
+	 * Gets list of maps using the given template.
+	 * 
+	 * @param query    The query to be executed.
+	 * @param params   The params to add to the query.
+	 * @param template The template to run the query against.
+	 * @return Generic object
+	 */
+	private List<Map<String, Object>> getListMap(SqlFragment query, SqlParams params, JdbcTemplate template) {
+		QueryTiming timing = metrics.start(query);
+		String sql = timing.render(() -> bundler.bundle(query.getLines(), params));
+		return timing.execute(() -> {
+			List<Map<String, Object>> rows = template.queryForList(sql);
+			timing.setRows(rows.size());
+			return rows;
+		});
 	}
 
 	/**
@@ -91,8 +205,13 @@ public class SqlClient {
 	 * @param query  The query to be executed.
 	 * @param params The params to add to the query.
 	 */
-	public void delete(List<String> query, SqlParams params) {
-		jdbcTemplateObject.execute(bundler.bundle(query, params));
+	public void delete(SqlFragment query, SqlParams params) {
+		QueryTiming timing = metrics.start(query);
+		String sql = timing.render(() -> bundler.bundle(query.getLines(), params));
+		timing.execute(() -> {
+			timing.setRows(writeTemplate().update(sql));
+			return null;
+		});
 	}
 
 	/**
@@ -102,7 +221,7 @@ public class SqlClient {
 	 * @param params The params to add to the query.
 	 * @return Integer value of the auto_increment id if there is one
 	 */
-	public Optional<Integer> update(List<String> query, SqlParams params) {
+	public Optional<Integer> update(SqlFragment query, SqlParams params) {
 		return post(query, params);
 	}
 
@@ -113,13 +232,18 @@ public class SqlClient {
 	 * @param params The params to add to the query.
 	 * @return Integer value of the auto_increment id if there is one.
 	 */
-	public Optional<Integer> post(List<String> query, SqlParams params) {
+	public Optional<Integer> post(SqlFragment query, SqlParams params) {
+		QueryTiming timing = metrics.start(query);
+		String sql = timing.render(() -> bundler.bundle(query.getLines(), params));
+
 		KeyHolder keyHolder = new GeneratedKeyHolder();
-		jdbcTemplateObject.update(connection -> {
-			PreparedStatement ps = connection.prepareStatement(bundler.bundle(query, params),
-					Statement.RETURN_GENERATED_KEYS);
-			return ps;
-		}, keyHolder);
+		timing.execute(() -> {
+			timing.setRows(writeTemplate().update(connection -> {
+				PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+				return ps;
+			}, keyHolder));
+			return null;
+		});
 		try {
 			return Optional.of(keyHolder.getKey().intValue());
 		} catch (Exception e) {
@@ -127,13 +251,40 @@ public class SqlClient {
 		}
 	}
 
+	/**
+	 * Runs the given work in a single transaction on the primary. Every query the
+	 * work makes through this client, reads included, uses the same connection.
+	 * The transaction is rolled back if the work throws.
+	 * 
+	 * @param <T>  The type the work returns.
+	 * @param work The work to run.
+	 * @return The result of the work.
+	 * @throws Exception If the work fails.
+	 */
+	public <T> T transaction(SqlTransaction<T> work) throws Exception {
+		stickToPrimary();
+		try {
+			return transactionTemplate.execute(status -> {
+				try {
+					return work.run();
+				} catch (RuntimeException e) {
+					throw e;
+				} catch (Exception e) {
+					throw new UndeclaredThrowableException(e);
+				}
+			});
+		} catch (UndeclaredThrowableException e) {
+			throw (Exception) e.getUndeclaredThrowable();
+		}
+	}
+
 	/**
 	 * Execute the given query string as it is.
 	 * 
 	 * @param query The query to be executed.
 	 */
 	public void execute(String query) {
-		jdbcTemplateObject.execute(query);
+		writeTemplate().execute(query);
 	}
 
 	/**
@@ -142,7 +293,32 @@ public class SqlClient {
 	 * @param query The query to be executed.
 	 */
 	public void batch(String... querys) {
-		jdbcTemplateObject.batchUpdate(querys);
+		writeTemplate().batchUpdate(querys);
+	}
+
+	/**
+	 * Runs the query once for each of the given params as a single prepared
+	 * statement batch. The conditions in the query are resolved against the first
+	 * params, so every params in the batch should set the same fields.
+	 * 
+	 * @param query  The query to be executed.
+	 * @param params The params for each row of the batch.
+	 * @return {@link int[]} of the rows affected by each statement.
+	 */
+	public int[] batch(SqlFragment query, List<SqlParams> params) {
+		if (params.isEmpty()) {
+			return new int[0];
+		}
+
+		QueryTiming timing = metrics.start(query);
+		PreparedSql prepared = timing.prepare(() -> bundler.prepare(query.getLines(), params.get(0)));
+		List<Object[]> values = params.stream().map(prepared::getValues).collect(Collectors.toList());
+
+		return timing.execute(() -> {
+			int[] rows = writeTemplate().batchUpdate(prepared.getSql(), values);
+			timing.setRows(Arrays.stream(rows).map(r -> Math.max(r, 0)).sum());
+			return rows;
+		});
 	}
 
 	/**
@@ -151,7 +327,49 @@ public class SqlClient {
 	 * @param query The query to execute.
 	 * @return {@link long} of the value returned.
 	 */
-	public long queryForLong(List<String> query, SqlParams params) {
-		return jdbcTemplateObject.queryForObject(bundler.bundle(query, params), Long.class);
+	public long queryForLong(SqlFragment query, SqlParams params) {
+		QueryTiming timing = metrics.start(query);
+		String sql = timing.render(() -> bundler.bundle(query.getLines(), params));
+		return timing.execute(() -> readTemplate().queryForObject(sql, Long.class));
+	}
+
+	/**
+	 * Gets the template to run a read against. This is the replica unless a write
+	 * has already been made during the current request or a transaction is open.
+	 * 
+	 * @return {@link JdbcTemplate} to read from.
+	 */
+	private JdbcTemplate readTemplate() {
+		if (TransactionSynchronizationManager.isActualTransactionActive()) {
+			return jdbcTemplateObject;
+		}
+
+		RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+		if (attributes != null
+				&& attributes.getAttribute(PRIMARY_STICKY_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null) {
+			return jdbcTemplateObject;
+		}
+		return replicaTemplateObject;
+	}
+
+	/**
+	 * Gets the template to run a write against. This will also mark the current
+	 * request so that any reads after it go to the primary.
+	 * 
+	 * @return {@link JdbcTemplate} to write to.
+	 */
+	private JdbcTemplate writeTemplate() {
+		stickToPrimary();
+		return jdbcTemplateObject;
+	}
+
+	/**
+	 * Marks the current request so that any reads after it go to the primary.
+	 */
+	private void stickToPrimary() {
+		RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+		if (attributes != null) {
+			attributes.setAttribute(PRIMARY_STICKY_ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+		}
 	}
 }
@@ -0,0 +1,44 @@
+package com.digital.receipt.sql.domain;
+
+import java.util.List;
+
+/**
+ * Sql with its params left as {@code ?} placeholders so it can be run as a
+ * prepared statement. The param names are kept in the order the placeholders
+ * appear.
+ * 
+ * @author Sam Butler
+ * @since October 19, 2026
+ */
+public class PreparedSql {
+    private final String sql;
+
+    private final List<String> paramNames;
+
+    public PreparedSql(String sql, List<String> paramNames) {
+        this.sql = sql;
+        this.paramNames = paramNames;
+    }
+
+    /**
+     * Gets the values to bind to the placeholders from the given params.
+     * 
+     * @param params The params to get the values from.
+     * @return {@link Object[]} of the values in placeholder order.
+     */
+    public Object[] getValues(SqlParams params) {
+        Object[] values = new Object[paramNames.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = params.getValue(paramNames.get(i));
+        }
+        return values;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public List<String> getParamNames() {
+        return paramNames;
+    }
+}
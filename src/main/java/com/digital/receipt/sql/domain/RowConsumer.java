@@ -0,0 +1,21 @@
+package com.digital.receipt.sql.domain;
+
+/**
+ * Callback that is handed each mapped row of a streamed query. This allows the
+ * caller to process a row and let it go before the next row is read.
+ * 
+ * @param <T> The type of the mapped row.
+ * @author Sam Butler
+ * @since October 19, 2026
+ */
+@FunctionalInterface
+public interface RowConsumer<T> {
+
+    /**
+     * Process a single mapped row.
+     * 
+     * @param row The mapped row.
+     * @throws Exception If the row could not be processed.
+     */
+    void accept(T row) throws Exception;
+}
@@ -0,0 +1,38 @@
+package com.digital.receipt.sql.domain;
+
+import java.util.List;
+
+/**
+ * A sql fragment read from a dao sql file. This holds the lines of the query
+ * along with the dao and fragment name it came from so the query can be tagged
+ * when it is run.
+ * 
+ * @author Sam Butler
+ * @since October 19, 2026
+ */
+public class SqlFragment {
+
+    private final String daoName;
+
+    private final String name;
+
+    private final List<String> lines;
+
+    public SqlFragment(String daoName, String name, List<String> lines) {
+        this.daoName = daoName;
+        this.name = name;
+        this.lines = lines;
+    }
+
+    public String getDaoName() {
+        return daoName;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<String> getLines() {
+        return lines;
+    }
+}
@@ -0,0 +1,21 @@
+package com.digital.receipt.sql.domain;
+
+/**
+ * Work to run inside a database transaction. If it throws the transaction is
+ * rolled back.
+ * 
+ * @param <T> The type the work returns.
+ * @author Sam Butler
+ * @since October 19, 2026
+ */
+@FunctionalInterface
+public interface SqlTransaction<T> {
+
+    /**
+     * Runs the work.
+     * 
+     * @return The result of the work.
+     * @throws Exception If the work fails.
+     */
+    T run() throws Exception;
+}
@@ -0,0 +1,134 @@
+package com.digital.receipt.sql.metrics;
+
+import java.util.function.Supplier;
+
+import com.digital.receipt.sql.SqlClient;
+import com.digital.receipt.sql.domain.PreparedSql;
+import com.digital.receipt.sql.domain.SqlFragment;
+
+import org.springframework.jdbc.core.RowMapper;
+
+/**
+ * Times a single query as it goes through the {@link SqlClient}. The time is
+ * split into rendering the sql, acquiring a connection, executing the query and
+ * mapping the rows, and recorded once the query is done.
+ * 
+ * @author Sam Butler
+ * @since October 19, 2026
+ */
+public class QueryTiming {
+
+    private final SqlFragment fragment;
+
+    private final SqlMetrics metrics;
+
+    private String sql;
+
+    private long renderNanos;
+
+    private long mapNanos;
+
+    private int rows;
+
+    public QueryTiming(SqlFragment fragment, SqlMetrics metrics) {
+        this.fragment = fragment;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Renders the sql and records how long it took.
+     * 
+     * @param render The call that renders the sql.
+     * @return {@link String} of the rendered sql.
+     */
+    public String render(Supplier<String> render) {
+        long start = System.nanoTime();
+        sql = render.get();
+        renderNanos = System.nanoTime() - start;
+        return sql;
+    }
+
+    /**
+     * Prepares the sql for a prepared statement and records how long it took.
+     * 
+     * @param prepare The call that prepares the sql.
+     * @return {@link PreparedSql} of the prepared sql.
+     */
+    public PreparedSql prepare(Supplier<PreparedSql> prepare) {
+        long start = System.nanoTime();
+        PreparedSql prepared = prepare.get();
+        renderNanos = System.nanoTime() - start;
+        sql = prepared.getSql();
+        return prepared;
+    }
+
+    /**
+     * Wraps the given mapper so the time spent mapping rows and the number of rows
+     * mapped is recorded.
+     * 
+     * @param <T>    The type the mapper returns.
+     * @param mapper The mapper to wrap.
+     * @return {@link RowMapper} that records the mapping time.
+     */
+    public <T> RowMapper<T> mapper(RowMapper<T> mapper) {
+        return (rs, rowNum) -> {
+            long start = System.nanoTime();
+            try {
+                return mapper.mapRow(rs, rowNum);
+            } finally {
+                mapNanos += System.nanoTime() - start;
+                rows++;
+            }
+        };
+    }
+
+    /**
+     * Runs the query and records the timings. The time to acquire the connection
+     * and map the rows is taken out of the execute time.
+     * 
+     * @param <T>   The type the query returns.
+     * @param query The call that runs the query.
+     * @return The result of the query.
+     */
+    public <T> T execute(Supplier<T> query) {
+        TimedDataSource.resetAcquireNanos();
+        long start = System.nanoTime();
+        try {
+            return query.get();
+        } finally {
+            long total = System.nanoTime() - start;
+            long acquireNanos = TimedDataSource.getAcquireNanos();
+            metrics.record(this, acquireNanos, Math.max(0, total - acquireNanos - mapNanos));
+        }
+    }
+
+    /**
+     * Sets the number of rows the query returned or affected. This is used when
+     * the rows are not counted through the mapper.
+     * 
+     * @param rows The number of rows.
+     */
+    public void setRows(int rows) {
+        this.rows = rows;
+    }
+
+    public SqlFragment getFragment() {
+        return fragment;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public long getRenderNanos() {
+        return renderNanos;
+    }
+
+    public long getMapNanos() {
+        return mapNanos;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+}
@@ -0,0 +1,49 @@
+package com.digital.receipt.sql.metrics;
+
+/**
+ * Record of a query that took longer than the slow query threshold. The sql is
+ * the rendered sql, redaction of the bound values is done when the record is
+ * written so the request thread does not pay for it.
+ * 
+ * @author Sam Butler
+ * @since October 19, 2026
+ */
+public class SlowQuery {
+    private final String fragment;
+
+    private final String sql;
+
+    private final int rows;
+
+    private final long elapsedNanos;
+
+    private final long poolWaitNanos;
+
+    public SlowQuery(String fragment, String sql, int rows, long elapsedNanos, long poolWaitNanos) {
+        this.fragment = fragment;
+        this.sql = sql;
+        this.rows = rows;
+        this.elapsedNanos = elapsedNanos;
+        this.poolWaitNanos = poolWaitNanos;
+    }
+
+    public String getFragment() {
+        return fragment;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public long getPoolWaitNanos() {
+        return poolWaitNanos;
+    }
+}
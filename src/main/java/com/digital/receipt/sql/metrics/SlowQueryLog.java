@@ -0,0 +1,108 @@
+package com.digital.receipt.sql.metrics;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Writes slow query records to the log. Records are put on a fixed size ring
+ * buffer and written by a single background thread, so a request thread never
+ * waits on the logger. If the buffer is full the record is dropped and counted
+ * instead of blocking.
+ * 
+ * @author Sam Butler
+ * @since October 19, 2026
+ */
+@Service
+public class SlowQueryLog {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SlowQueryLog.class);
+
+    private static final int BUFFER_SIZE = 1024;
+
+    private static final Pattern LITERAL = Pattern
+            .compile("\"(?:[^\"\\\\]|\\\\.)*\"|'(?:[^'\\\\]|\\\\.)*'|\\b\\d+(?:\\.\\d+)?\\b");
+
+    private final BlockingQueue<SlowQuery> buffer = new ArrayBlockingQueue<>(BUFFER_SIZE);
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    private final Thread writer;
+
+    public SlowQueryLog() {
+        writer = new Thread(this::drain, "slow-query-log");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Adds the slow query to the buffer to be logged. This never blocks, if the
+     * buffer is full the query is dropped.
+     * 
+     * @param query The slow query to log.
+     */
+    public void offer(SlowQuery query) {
+        if (!buffer.offer(query)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    /**
+     * Stops the writer thread when the application shuts down.
+     */
+    @PreDestroy
+    public void shutdown() {
+        writer.interrupt();
+    }
+
+    /**
+     * Takes records off the buffer and logs them until the thread is interrupted.
+     */
+    private void drain() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                write(buffer.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                LOGGER.error("Could not write slow query record.", e);
+            }
+        }
+    }
+
+    /**
+     * Writes a single slow query record along with how many records have been
+     * dropped since the last one was written.
+     * 
+     * @param query The slow query to write.
+     */
+    private void write(SlowQuery query) {
+        LOGGER.warn("slow_query fragment={} elapsed_ms={} pool_wait_ms={} rows={} dropped={} sql=\"{}\"",
+                query.getFragment(), TimeUnit.NANOSECONDS.toMillis(query.getElapsedNanos()),
+                TimeUnit.NANOSECONDS.toMillis(query.getPoolWaitNanos()), query.getRows(), dropped.getAndSet(0),
+                redact(query.getSql()));
+    }
+
+    /**
+     * Replaces the literals in the rendered sql with a placeholder and collapses
+     * the whitespace so the record fits on one line. Double and single quoted
+     * strings and numbers are all replaced, so neither the bound values nor the
+     * like filters and numbers written into the sql end up in the log.
+     * 
+     * @param sql The rendered sql.
+     * @return {@link String} of the redacted sql.
+     */
+    private String redact(String sql) {
+        if (sql == null) {
+            return "";
+        }
+        return LITERAL.matcher(sql).replaceAll("?").replaceAll("\\s+", " ").trim();
+    }
+}
@@ -0,0 +1,116 @@
+package com.digital.receipt.sql.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import com.digital.receipt.sql.domain.SqlFragment;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Records the query timings for each dao fragment. Each phase of a query is
+ * recorded into its own timer tagged with the dao and fragment name, with the
+ * p50, p99 and p999 published so slow fragments can be picked out. Queries over
+ * the slow query threshold are also written to the {@link SlowQueryLog}.
+ * 
+ * @author Sam Butler
+ * @since October 19, 2026
+ */
+@Service
+public class SqlMetrics {
+    public static final String QUERY_TIMER = "sql.query";
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Autowired
+    private SlowQueryLog slowQueryLog;
+
+    @Value("${sql.slow-query.threshold-ms:500}")
+    private long slowQueryThresholdMs;
+
+    private final Map<String, Map<String, FragmentTimers>> timers = new ConcurrentHashMap<>();
+
+    /**
+     * Starts the timing for a query of the given fragment.
+     * 
+     * @param fragment The fragment being run.
+     * @return {@link QueryTiming} to time the query with.
+     */
+    public QueryTiming start(SqlFragment fragment) {
+        return new QueryTiming(fragment, this);
+    }
+
+    /**
+     * Records the timings of a finished query.
+     * 
+     * @param timing       The timing of the query.
+     * @param acquireNanos The time spent acquiring a connection.
+     * @param executeNanos The time spent executing the query.
+     */
+    void record(QueryTiming timing, long acquireNanos, long executeNanos) {
+        SqlFragment fragment = timing.getFragment();
+        FragmentTimers fragmentTimers = timers(fragment);
+        fragmentTimers.render.record(timing.getRenderNanos(), TimeUnit.NANOSECONDS);
+        fragmentTimers.acquire.record(acquireNanos, TimeUnit.NANOSECONDS);
+        fragmentTimers.execute.record(executeNanos, TimeUnit.NANOSECONDS);
+        fragmentTimers.map.record(timing.getMapNanos(), TimeUnit.NANOSECONDS);
+
+        long elapsedNanos = timing.getRenderNanos() + acquireNanos + executeNanos + timing.getMapNanos();
+        if (elapsedNanos >= TimeUnit.MILLISECONDS.toNanos(slowQueryThresholdMs)) {
+            slowQueryLog.offer(new SlowQuery(String.format("%s.%s", fragment.getDaoName(), fragment.getName()),
+                    timing.getSql(), timing.getRows(), elapsedNanos, acquireNanos));
+        }
+    }
+
+    /**
+     * Gets the phase timers for the given fragment, registering them the first
+     * time the fragment is run. They are looked up by the dao and fragment name,
+     * so no key has to be built for each query.
+     * 
+     * @param fragment The fragment being timed.
+     * @return {@link FragmentTimers} of the fragment.
+     */
+    private FragmentTimers timers(SqlFragment fragment) {
+        return timers.computeIfAbsent(fragment.getDaoName(), k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(fragment.getName(), k -> new FragmentTimers(fragment));
+    }
+
+    /**
+     * Builds the timer for the given fragment and phase.
+     * 
+     * @param fragment The fragment being timed.
+     * @param phase    The phase of the query.
+     * @return {@link Timer} for the fragment and phase.
+     */
+    private Timer timer(SqlFragment fragment, String phase) {
+        return Timer.builder(QUERY_TIMER).tag("dao", fragment.getDaoName()).tag("fragment", fragment.getName())
+                .tag("phase", phase).publishPercentiles(0.5, 0.99, 0.999).register(registry);
+    }
+
+    /**
+     * The timers of each phase of a fragment's queries.
+     */
+    private class FragmentTimers {
+        private final Timer render;
+
+        private final Timer acquire;
+
+        private final Timer execute;
+
+        private final Timer map;
+
+        FragmentTimers(SqlFragment fragment) {
+            render = timer(fragment, "render");
+            acquire = timer(fragment, "acquire");
+            execute = timer(fragment, "execute");
+            map = timer(fragment, "map");
+        }
+    }
+}
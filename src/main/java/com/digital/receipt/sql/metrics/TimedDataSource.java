@@ -0,0 +1,62 @@
+package com.digital.receipt.sql.metrics;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Datasource wrapper that keeps track of how long the current thread has spent
+ * waiting on the pool for a connection. This is used to split the pool wait out
+ * of the time it takes to run a query.
+ * 
+ * @author Sam Butler
+ * @since October 19, 2026
+ */
+public class TimedDataSource extends DelegatingDataSource {
+
+    private static final ThreadLocal<long[]> ACQUIRE_NANOS = ThreadLocal.withInitial(() -> new long[1]);
+
+    public TimedDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        long start = System.nanoTime();
+        try {
+            return super.getConnection();
+        } finally {
+            ACQUIRE_NANOS.get()[0] += System.nanoTime() - start;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            return super.getConnection(username, password);
+        } finally {
+            ACQUIRE_NANOS.get()[0] += System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * Resets the acquire time for the current thread.
+     */
+    public static void resetAcquireNanos() {
+        ACQUIRE_NANOS.get()[0] = 0;
+    }
+
+    /**
+     * Gets the time the current thread has spent acquiring connections since the
+     * last reset.
+     * 
+     * @return {@link long} of the acquire time in nanoseconds.
+     */
+    public static long getAcquireNanos() {
+        return ACQUIRE_NANOS.get()[0];
+    }
+}
@@ -1,21 +1,25 @@
 @NAME(getReceiptById)
     SELECT 
-        rd.id, rd.file_public_id, ur.insert_date_utc, ur.user_id, ur.location, ur.label, ur.notes
+        rd.id, rd.file_public_id, rd.url, rd.format, rd.bytes, rd.width, rd.height, rd.version,
+        NULL AS insert_date_utc, NULL AS user_id, NULL AS location, NULL AS label, NULL AS notes, rd.content_hash
     FROM
         receipt_details rd
-            LEFT JOIN
-        user_receipts ur ON rd.id = ur.receipt_id
     WHERE
         rd.id = :id:
+    AND
+        rd.deleted_at IS NULL
 
 @NAME(getReceipts)
     SELECT 
-        rd.id, rd.file_public_id, ur.insert_date_utc, ur.user_id, ur.location, ur.label, ur.notes
+        rd.id, rd.file_public_id, rd.url, rd.format, rd.bytes, rd.width, rd.height, rd.version,
+        ur.insert_date_utc, ur.user_id, ur.location, ur.label, ur.notes, rd.content_hash
     FROM
         receipt_details rd
             LEFT JOIN
         user_receipts ur ON rd.id = ur.receipt_id
-    @WHERE(:id:)
+    WHERE
+        rd.deleted_at IS NULL
+    @AND(:id:)
         rd.id = :id:
     @AND(:userId:)
         ur.user_id = :userId:
@@ -34,13 +38,126 @@
 
 @NAME(getCurrentUserReceiptById)
     SELECT 
-        rd.id, rd.file_public_id, ur.insert_date_utc, ur.user_id, ur.location, ur.label, ur.notes
+        rd.id, rd.file_public_id, rd.url, rd.format, rd.bytes, rd.width, rd.height, rd.version,
+        ur.insert_date_utc, ur.user_id, ur.location, ur.label, ur.notes, rd.content_hash
+    FROM
+        receipt_details rd
+            LEFT JOIN
+        user_receipts ur ON rd.id = ur.receipt_id
+    WHERE
+        ur.user_id = :userId: AND rd.id = :id: AND rd.deleted_at IS NULL
+
+@NAME(getCurrentUserReceiptsForUpdate)
+    SELECT 
+        rd.id, rd.file_public_id, rd.url, rd.format, rd.bytes, rd.width, rd.height, rd.version,
+        ur.insert_date_utc, ur.user_id, ur.location, ur.label, ur.notes, rd.content_hash
+    FROM
+        receipt_details rd
+            JOIN
+        user_receipts ur ON rd.id = ur.receipt_id
+    WHERE
+        ur.user_id = :userId: AND rd.id = :id: AND rd.deleted_at IS NULL
+    FOR UPDATE
+
+@NAME(getReceiptsForDelete)
+    SELECT 
+        rd.id, rd.file_public_id, rd.url, rd.format, rd.bytes, rd.width, rd.height, rd.version,
+        ur.insert_date_utc, ur.user_id, ur.location, ur.label, ur.notes, rd.content_hash
+    FROM
+        receipt_details rd
+            LEFT JOIN
+        user_receipts ur ON rd.id = ur.receipt_id
+    WHERE
+        rd.deleted_at IS NULL
+    @AND(:id:)
+        rd.id = :id:
+    @AND(:userId:)
+        ur.user_id = :userId:
+    FOR UPDATE
+
+@NAME(getReceiptsMissingAsset)
+    SELECT 
+        rd.id, rd.file_public_id, rd.url, rd.format, rd.bytes, rd.width, rd.height, rd.version,
+        ur.insert_date_utc, ur.user_id, ur.location, ur.label, ur.notes, rd.content_hash
+    FROM
+        (
+            SELECT
+                id, file_public_id, url, format, bytes, width, height, version, content_hash
+            FROM
+                receipt_details
+            WHERE
+                id > :lastId:
+            AND
+                url IS NULL
+            AND
+                deleted_at IS NULL
+            ORDER BY id
+            LIMIT 100
+        ) rd
+            LEFT JOIN
+        user_receipts ur ON rd.id = ur.receipt_id
+    ORDER BY rd.id
+
+@NAME(getReceiptsByContentHashForUpdate)
+    SELECT 
+        rd.id, rd.file_public_id, rd.url, rd.format, rd.bytes, rd.width, rd.height, rd.version,
+        ur.insert_date_utc, ur.user_id, ur.location, ur.label, ur.notes, rd.content_hash
+    FROM
+        receipt_details rd
+            LEFT JOIN
+        user_receipts ur ON rd.id = ur.receipt_id
+    WHERE
+        rd.content_hash = :contentHash: AND rd.deleted_at IS NULL
+    FOR UPDATE
+
+@NAME(getReceiptsMissingContentHash)
+    SELECT 
+        rd.id, rd.file_public_id, rd.url, rd.format, rd.bytes, rd.width, rd.height, rd.version,
+        ur.insert_date_utc, ur.user_id, ur.location, ur.label, ur.notes, rd.content_hash
+    FROM
+        (
+            SELECT
+                id, file_public_id, url, format, bytes, width, height, version, content_hash
+            FROM
+                receipt_details
+            WHERE
+                id > :lastId:
+            AND
+                content_hash IS NULL
+            AND
+                url IS NOT NULL
+            AND
+                deleted_at IS NULL
+            ORDER BY id
+            LIMIT 100
+        ) rd
+            LEFT JOIN
+        user_receipts ur ON rd.id = ur.receipt_id
+    ORDER BY rd.id
+
+@NAME(getAssociatedReceiptIds)
+    SELECT DISTINCT
+        receipt_id
+    FROM
+        user_receipts
+    WHERE
+        receipt_id = :id:
+
+@NAME(getDeletedReceiptsForUpdate)
+    SELECT 
+        rd.id, rd.file_public_id, rd.url, rd.format, rd.bytes, rd.width, rd.height, rd.version,
+        ur.insert_date_utc, ur.user_id, ur.location, ur.label, ur.notes, rd.content_hash
     FROM
         receipt_details rd
             LEFT JOIN
         user_receipts ur ON rd.id = ur.receipt_id
     WHERE
-        ur.user_id = :userId: AND rd.id = :id:
+        rd.deleted_at IS NOT NULL
+    AND
+        (rd.purge_claimed_at IS NULL OR rd.purge_claimed_at < UTC_TIMESTAMP() - INTERVAL 1 HOUR)
+    ORDER BY rd.deleted_at
+    LIMIT 500
+    FOR UPDATE SKIP LOCKED
 
 @NAME(getAutoIncrementReceiptDetails)
     SELECT 
@@ -55,12 +172,35 @@
     INSERT INTO receipt_details (`file_public_id`)
     VALUES (:name:)
 
+@NAME(updateReceiptAsset)
+    UPDATE receipt_details
+    SET
+        url = :url:,
+        format = :format:,
+        bytes = :bytes:,
+        width = :width:,
+        height = :height:,
+        version = :version:
+    WHERE
+        id = :id:
+
+@NAME(updateContentHash)
+    UPDATE receipt_details
+    SET content_hash = :contentHash:
+    WHERE id = :id:
+
+@NAME(reserveReceiptNameBlock)
+    INSERT INTO receipt_name_block ()
+    VALUES ()
+
 @NAME(associateUserToReceipt)
     INSERT INTO user_receipts (`receipt_id`,`user_id`)
     VALUES (:id:, :userId:)
 
 @NAME(updateCurrentUserAssociation)
-    UPDATE user_receipts
+    UPDATE user_receipts ur
+        JOIN
+    receipt_details rd ON rd.id = ur.receipt_id
     SET
         @IF(:location:)
             location = :location:
@@ -73,11 +213,49 @@
                 ,
         @IF(:notes:)
             notes = :notes:
+    WHERE 
+        ur.receipt_id = :id: 
+    AND 
+        ur.user_id = :userId:
+    AND
+        rd.deleted_at IS NULL
+
+@NAME(updateCurrentUserAssociations)
+    UPDATE user_receipts
+    SET
+        location = COALESCE(:location:, location),
+        label = COALESCE(:label:, label),
+        notes = COALESCE(:notes:, notes)
     WHERE 
         receipt_id = :id: 
     AND 
         user_id = :userId:
 
+@NAME(mergeReceiptAssociations)
+    UPDATE IGNORE user_receipts
+    SET receipt_id = :id:
+    WHERE receipt_id = :duplicateId:
+
+@NAME(deleteReceiptAssociations)
+    DELETE FROM user_receipts
+    WHERE receipt_id = :id:
+    @AND(:userId:)
+        user_id = :userId:
+
+@NAME(markReceiptRecordsDeleted)
+    UPDATE receipt_details
+    SET deleted_at = UTC_TIMESTAMP(), content_hash = NULL
+    WHERE id = :id:
+
 @NAME(deleteReceiptRecords)
     DELETE FROM receipt_details
-    WHERE id = :id:
\ No newline at end of file
+    WHERE id = :id:
+
+@NAME(claimDeletedReceipts)
+    UPDATE receipt_details
+    SET purge_claimed_at = UTC_TIMESTAMP()
+    WHERE id = :id:
+
+@NAME(deleteClaimedReceipts)
+    DELETE FROM receipt_details
+    WHERE id = :id: AND deleted_at IS NOT NULL
\ No newline at end of file
@@ -0,0 +1,12 @@
+@NAME(getResourceVersion)
+    SELECT
+        version
+    FROM
+        resource_version
+    WHERE
+        resource = :resource: AND user_id = :userId:
+
+@NAME(bumpResourceVersion)
+    INSERT INTO resource_version (`resource`, `user_id`)
+    VALUES (:resource:, :userId:)
+    ON DUPLICATE KEY UPDATE version = version + 1
@@ -13,6 +13,21 @@
 	WHERE 
 		up.id = :userId:
 
+@NAME(getUserByEmail)
+	SELECT 
+		up.id,
+		up.first_name,
+		up.last_name,
+		up.email,
+		up.web_role_id,
+		up.insert_date_utc
+	FROM
+		user_profile up
+			JOIN
+		user_credentials uc ON up.id = uc.user_id
+	WHERE 
+		up.email = :email:
+
 @NAME(getUsers)
 	SELECT 
 		up.id,
@@ -0,0 +1,8 @@
+-- Blocks of receipt names handed out by the ReceiptNameService. Each row is one
+-- block of 1000 names, the id being the high value. The ids start at one million
+-- so reserved names never overlap the receipt_details ids clients used before.
+CREATE TABLE receipt_name_block (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    insert_date_utc DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB AUTO_INCREMENT = 1000000;
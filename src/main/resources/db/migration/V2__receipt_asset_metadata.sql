@@ -0,0 +1,10 @@
+-- Delivery url and metadata of the stored asset, written when the receipt is
+-- created so reads do not have to go to cloudinary. Existing rows are filled in
+-- by the receipt asset backfill.
+ALTER TABLE receipt_details
+    ADD COLUMN url VARCHAR(512) NULL,
+    ADD COLUMN format VARCHAR(16) NULL,
+    ADD COLUMN bytes BIGINT NULL,
+    ADD COLUMN width INT NULL,
+    ADD COLUMN height INT NULL,
+    ADD COLUMN version BIGINT NULL;
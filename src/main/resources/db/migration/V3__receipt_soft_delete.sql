@@ -0,0 +1,6 @@
+-- Receipts deleted by users are marked here instead of being deleted right
+-- away. Every receipt query skips marked rows and the receipt compaction purges
+-- them, along with their files, off peak.
+ALTER TABLE receipt_details
+    ADD COLUMN deleted_at DATETIME NULL,
+    ADD KEY ix_receipt_details_deleted_at (deleted_at);
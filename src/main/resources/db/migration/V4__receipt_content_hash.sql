@@ -0,0 +1,43 @@
+-- Receipt images are keyed by the SHA-256 hash of their content so a duplicate
+-- upload resolves to the stored asset instead of creating a second one. The
+-- same receipt can then belong to more than one user, so the association is
+-- keyed by the receipt and the user.
+ALTER TABLE receipt_details
+    ADD COLUMN content_hash CHAR(64) NULL,
+    ADD UNIQUE KEY ux_receipt_details_content_hash (content_hash);
+
+-- The association table is rebuilt rather than altered so the migration does
+-- not depend on whatever key the old table had. Rows are copied oldest first
+-- and INSERT IGNORE drops any later duplicate of a receipt and user pair, so
+-- the earliest association is the one that is kept. Rows pointing at a receipt
+-- or user that no longer exists are not copied. This copies the whole table
+-- and should be run off peak.
+CREATE TABLE user_receipts_v4 (
+    receipt_id INT NOT NULL,
+    user_id INT NOT NULL,
+    insert_date_utc DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    location VARCHAR(255),
+    label VARCHAR(255),
+    notes VARCHAR(1000),
+    PRIMARY KEY (receipt_id, user_id),
+    KEY ix_user_receipts_user (user_id)
+) ENGINE = InnoDB;
+
+INSERT IGNORE INTO user_receipts_v4 (receipt_id, user_id, insert_date_utc, location, label, notes)
+SELECT
+    ur.receipt_id, ur.user_id, ur.insert_date_utc, ur.location, ur.label, ur.notes
+FROM
+    user_receipts ur
+        JOIN
+    receipt_details rd ON rd.id = ur.receipt_id
+        JOIN
+    user_profile up ON up.id = ur.user_id
+ORDER BY ur.insert_date_utc;
+
+RENAME TABLE user_receipts TO user_receipts_v3, user_receipts_v4 TO user_receipts;
+
+DROP TABLE user_receipts_v3;
+
+ALTER TABLE user_receipts
+    ADD CONSTRAINT fk_user_receipts_receipt FOREIGN KEY (receipt_id) REFERENCES receipt_details (id) ON DELETE CASCADE,
+    ADD CONSTRAINT fk_user_receipts_user FOREIGN KEY (user_id) REFERENCES user_profile (id) ON DELETE CASCADE;
@@ -0,0 +1,9 @@
+-- Version of each user's copy of a resource, bumped in the same transaction as
+-- every write to it. The etags of conditional gets are built from it, so every
+-- instance agrees on them.
+CREATE TABLE resource_version (
+    resource VARCHAR(32) NOT NULL,
+    user_id INT NOT NULL,
+    version BIGINT NOT NULL DEFAULT 1,
+    PRIMARY KEY (resource, user_id)
+) ENGINE = InnoDB;
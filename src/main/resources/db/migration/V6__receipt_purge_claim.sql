@@ -0,0 +1,6 @@
+-- When a receipt compaction claimed a marked receipt to purge it. A claimed
+-- receipt is skipped by the other instances while its files are removed from
+-- cloudinary, and is claimed again once the claim is old enough that the run
+-- that made it must have stopped.
+ALTER TABLE receipt_details
+    ADD COLUMN purge_claimed_at DATETIME NULL;
@@ -0,0 +1,77 @@
+package com.digital.receipt.service.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the {@link TokenBucketLimiter}.
+ * 
+ * @author Sam Butler
+ * @since October 19, 2026
+ */
+public class TokenBucketLimiterTest {
+
+    private static final int MAX_KEYS = 10_000;
+
+    private static final int KEYS = 1_000_000;
+
+    private static final int THREADS = 8;
+
+    @Test
+    public void testSizeStaysUnderMaxKeysWithConcurrentKeys() throws Exception {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(5, 5, MAX_KEYS);
+        AtomicInteger next = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    int key;
+                    while ((key = next.getAndIncrement()) < KEYS) {
+                        limiter.acquire("key-" + key);
+                        assertTrue(limiter.size() <= MAX_KEYS);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertTrue(limiter.size() <= MAX_KEYS, "Limiter kept " + limiter.size() + " keys");
+    }
+
+    @Test
+    public void testFullLimiterUsesOverflowBucket() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, 1, 1);
+        assertEquals(0, limiter.acquire("tracked"));
+
+        assertEquals(0, limiter.acquire("untracked-1"));
+        assertTrue(limiter.acquire("untracked-2") > 0);
+    }
+
+    @Test
+    public void testFullFailOpenLimiterLetsUntrackedKeysThrough() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, 1, 1, true);
+        assertEquals(0, limiter.acquire("tracked"));
+        assertTrue(limiter.acquire("tracked") > 0);
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(0, limiter.acquire("untracked-" + i));
+        }
+        assertEquals(1, limiter.size());
+    }
+}